@@ -36,6 +36,9 @@ class RelevantSkillsRequest(BaseModel):
     main_skill: str
     top_k: Optional[int] = 3
 
+class FetchSkillEmbeddingsRequest(BaseModel):
+    skills: List[str]
+
 class ProjectRequest(BaseModel):
     main_skills: List[str]
     time_availability: int
@@ -69,6 +72,13 @@ class GrabRelevantSkillsResponse(BaseModel):
     main_skill: str
     relevant_skills: List[RelevantSkillItem]
 
+class SkillEmbeddingItem(BaseModel):
+    values: List[float]
+    description: str
+
+class FetchSkillEmbeddingsResponse(BaseModel):
+    embeddings: Dict[str, SkillEmbeddingItem]
+
 class ProjectResponse(BaseModel):
     project_name: str
     description: str
@@ -134,6 +144,18 @@ def grab_relevant_skills(req: RelevantSkillsRequest):
     except Exception as e:
         raise HTTPException(status_code=500, detail=str(e))
 
+@app.post(
+    "/fetch_skill_embeddings",
+    response_model=FetchSkillEmbeddingsResponse,
+    summary="Get the stored embeddings of the given skills"
+)
+def fetch_skill_embeddings(req: FetchSkillEmbeddingsRequest):
+    try:
+        embeddings = generator.fetch_skill_embeddings(req.skills)
+        return {"embeddings": embeddings}
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=str(e))
+
 @app.post(
     "/get_project",
     response_model=GetProjectResponse,
@@ -148,6 +148,23 @@ class skill_generator:
 
         return relevant_skills[:top_k]
     
+    def fetch_skill_embeddings(self, skills, index_name="skills-index", batch_size=100):
+        index = self.pc.Index(index_name)
+
+        # Stored vectors by skill id, so callers can search them locally; unknown skills are left out
+        embeddings = {}
+        for start in range(0, len(skills), batch_size):
+            fetch_result = index.fetch(ids=skills[start:start + batch_size])
+            for skill, vector in fetch_result.vectors.items():
+                metadata = vector.metadata or {}
+                embeddings[skill] = {
+                    "values": vector.values,
+                    "description": metadata.get("description", "")
+                }
+
+        print(f"Fetched {len(embeddings)} of {len(skills)} skill embeddings from '{index_name}'")
+        return embeddings
+
     def get_project(self, main_skills=[], time_availability=4, experience_level=1):
         #def check_project_in_database(skill):
         #     #get api request - get projects with that skill, get if user has completed
@@ -0,0 +1,131 @@
+package com.skillsynth;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Deterministic fixtures for the benchmarks: a skill dictionary, users and projects of
+ * realistic sizes, and in-memory stand-ins for the repositories the measured code touches.
+ * The stand-ins answer only the methods the benchmarks reach; anything else throws, so a
+ * benchmark can never silently measure a no-op.
+ */
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {
+            "Programming", "Backend", "Frontend", "Databases", "DevOps", "Data Science", "Design", "Cloud"
+    };
+
+    private static final String[] COMMON_SKILLS = {
+            "Java", "Python", "JavaScript", "TypeScript", "Spring Boot", "React", "PostgreSQL", "Docker",
+            "Kubernetes", "AWS", "Git", "SQL", "Node.js", "Machine Learning", "Pandas", "Figma"
+    };
+
+    private BenchmarkData() {}
+
+    /** {@code count} skills with ids 1..count; the first few carry common names. */
+    static List<Skill> skills(int count) {
+        List<Skill> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = i < COMMON_SKILLS.length ? COMMON_SKILLS[i] : "Skill " + i;
+            Skill skill = new Skill(name, CATEGORIES[i % CATEGORIES.length]);
+            skill.setId((long) i + 1);
+            skill.setLevel(1 + i % 5);
+            skill.setXp((i * 37) % 500);
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    /** Users with ids 1..count, levels 1..5 and {@code skillsPerUser} skills each, popular skills more likely. */
+    static List<AppUser> users(int count, int skillsPerUser, List<Skill> skills, long seed) {
+        Random random = new Random(seed);
+        List<AppUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppUser user = new AppUser("student" + i, 1 + random.nextInt(5), pick(skills, skillsPerUser, random));
+            user.setId((long) i + 1);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Project> projects(int count, int skillsPerProject, List<Skill> skills, long seed) {
+        Random random = new Random(seed);
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project("Project " + i, pick(skills, skillsPerProject, random),
+                    "A practice project that exercises a handful of related skills end to end. ".repeat(3),
+                    1 + random.nextInt(5));
+            project.setId((long) i + 1);
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    // Squaring a uniform draw skews choices towards low indexes, i.e. the common skills
+    private static List<Skill> pick(List<Skill> skills, int count, Random random) {
+        Map<Long, Skill> chosen = new LinkedHashMap<>();
+        while (chosen.size() < Math.min(count, skills.size())) {
+            double u = random.nextDouble();
+            Skill skill = skills.get((int) (u * u * skills.size()));
+            chosen.putIfAbsent(skill.getId(), skill);
+        }
+        return new ArrayList<>(chosen.values());
+    }
+
+    /** Answers findByIdsOrNormalizedNames from memory, as the database would for known skills. */
+    static SkillSynthSkillRepository skillRepository(List<Skill> skills) {
+        Map<Long, Skill> byId = new HashMap<>();
+        Map<String, Skill> byName = new HashMap<>();
+        for (Skill skill : skills) {
+            byId.put(skill.getId(), skill);
+            byName.put(SkillEmbedder.normalize(skill.getName()), skill);
+        }
+        return stub(SkillSynthSkillRepository.class, (name, args) -> {
+            if (!name.equals("findByIdsOrNormalizedNames")) return UNSUPPORTED;
+            Map<Long, Skill> found = new LinkedHashMap<>();
+            for (Object id : (Collection<?>) args[0]) {
+                Skill skill = byId.get(id);
+                if (skill != null) found.put(skill.getId(), skill);
+            }
+            for (Object normalized : (Collection<?>) args[1]) {
+                Skill skill = byName.get(normalized);
+                if (skill != null) found.put(skill.getId(), skill);
+            }
+            return new ArrayList<>(found.values());
+        });
+    }
+
+    /** save() hands the entity back with the next id, like an IDENTITY insert. */
+    static SkillSynthProjectRepository projectRepository() {
+        long[] ids = {0};
+        return stub(SkillSynthProjectRepository.class, (name, args) -> {
+            if (!name.equals("save")) return UNSUPPORTED;
+            Project project = (Project) args[0];
+            project.setId(++ids[0]);
+            return project;
+        });
+    }
+
+    private static final Object UNSUPPORTED = new Object();
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString": return type.getSimpleName() + " stub";
+                case "hashCode": return System.identityHashCode(proxy);
+                case "equals": return proxy == args[0];
+                default: break;
+            }
+            Object result = answer.answer(method.getName(), args);
+            if (result == UNSUPPORTED) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return result;
+        });
+    }
+}
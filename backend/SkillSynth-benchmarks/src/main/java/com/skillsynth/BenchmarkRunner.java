@@ -0,0 +1,48 @@
+package com.skillsynth;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks and writes results as JSON, so runs can be compared across commits.
+ * Takes the usual JMH command line (e.g. a benchmark regex, -f, -wi, -i). Unless -rff is
+ * given, results go to jmh-results/&lt;commit&gt;-&lt;timestamp&gt;.json, where the commit comes
+ * from -Dbenchmark.commit or GIT_COMMIT.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            Path results = Path.of("jmh-results");
+            Files.createDirectories(results);
+            options.result(results.resolve(commit() + "-" + timestamp() + ".json").toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static String commit() {
+        String commit = System.getProperty("benchmark.commit", System.getenv("GIT_COMMIT"));
+        return commit == null || commit.isBlank() ? "local" : commit.trim();
+    }
+
+    private static String timestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.skillsynth;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level and skill filters over users: the stream filter over loaded users that the level
+ * endpoints used to run in memory, against the bitmap index behind /users/query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelFilterBenchmark {
+
+    @Param({"1000", "20000"})
+    public int userCount;
+
+    private List<UserWithSkillsView> users;
+    private UserBitmapIndex index;
+    private List<UserBitmapIndex.Term> dockerAndKubernetes;
+
+    @Setup
+    public void setUp() {
+        List<Skill> skills = BenchmarkData.skills(2000);
+        users = BenchmarkData.users(userCount, 12, skills, 11).stream().map(UserWithSkillsView::from).toList();
+
+        index = new UserBitmapIndex();
+        for (Skill skill : skills) {
+            index.setSkillLevel(skill.getId().intValue(), skill.getLevel());
+        }
+        for (UserWithSkillsView user : users) {
+            index.putUser(user.id().intValue(), user.level(),
+                    user.allSkills().stream().mapToInt(s -> s.id().intValue()).toArray());
+        }
+        dockerAndKubernetes = List.of(term(skills, "Docker"), term(skills, "Kubernetes"));
+    }
+
+    private static UserBitmapIndex.Term term(List<Skill> skills, String name) {
+        Skill skill = skills.stream().filter(s -> s.getName().equals(name)).findFirst().orElseThrow();
+        return new UserBitmapIndex.Term(skill.getId().intValue(), 0);
+    }
+
+    @Benchmark
+    public List<Long> levelRangeStream() {
+        return users.stream().filter(u -> u.level() >= 2 && u.level() <= 4).map(UserWithSkillsView::id).toList();
+    }
+
+    @Benchmark
+    public int levelRangeBitmap() {
+        return index.evaluate(List.of(), List.of(), List.of(), 2, 4).getCardinality();
+    }
+
+    @Benchmark
+    public List<Long> skillsAndLevelStream() {
+        return users.stream()
+                .filter(u -> u.level() >= 2 && u.level() <= 4)
+                .filter(u -> holds(u, "docker") && holds(u, "kubernetes"))
+                .map(UserWithSkillsView::id)
+                .toList();
+    }
+
+    @Benchmark
+    public int skillsAndLevelBitmap() {
+        return index.evaluate(dockerAndKubernetes, List.of(), List.of(), 2, 4).getCardinality();
+    }
+
+    private static boolean holds(UserWithSkillsView user, String name) {
+        for (SkillView skill : user.allSkills()) {
+            if (skill.name().equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+}
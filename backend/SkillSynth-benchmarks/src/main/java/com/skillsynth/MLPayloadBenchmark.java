@@ -0,0 +1,71 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing ML service request bodies: single and batched /upload_users
+ * payloads, /process_and_upload_skills payloads, and /get_project requests with their
+ * generation cache key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MLPayloadBenchmark {
+
+    private static final int USERS = 1024;
+
+    @Param({"100"})
+    public int uploadBatchSize;
+
+    private ObjectMapper objectMapper;
+    private List<AppUser> users;
+    private List<Skill> skills;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        skills = BenchmarkData.skills(2000);
+        users = BenchmarkData.users(USERS, 12, skills, 9);
+    }
+
+    @Benchmark
+    public byte[] uploadUser() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of("users", List.of(MLOutbox.userPayload(users.get(next++ & (USERS - 1))))));
+    }
+
+    @Benchmark
+    public byte[] uploadUsersBatch() throws Exception {
+        List<Map<String, Object>> batch = new ArrayList<>(uploadBatchSize);
+        int start = next++ & (USERS - 1);
+        for (int i = 0; i < uploadBatchSize; i++) {
+            batch.add(MLOutbox.userPayload(users.get((start + i) & (USERS - 1))));
+        }
+        return objectMapper.writeValueAsBytes(Map.of("users", batch));
+    }
+
+    @Benchmark
+    public byte[] processAndUploadSkill() throws Exception {
+        return objectMapper.writeValueAsBytes(MLOutbox.skillPayload(skills.get(next++ % skills.size())));
+    }
+
+    @Benchmark
+    public String getProjectRequestAndKey() throws Exception {
+        AppUser user = users.get(next++ & (USERS - 1));
+        List<String> mainSkills = user.getAllSkills().stream().map(Skill::getName).limit(5).toList();
+        Map<String, Object> body = new HashMap<>();
+        body.put("main_skills", mainSkills);
+        body.put("time_availability", 10);
+        body.put("experience_level", user.getLevel());
+        String key = GenerationKey.of(body).canonical();
+        return key + objectMapper.writeValueAsString(body).length();
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of user and project responses, as entities and as the read-model
+ * records the endpoints return, using an ObjectMapper configured the way Spring Boot builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    // Entries in one response: a single entity, a keyset page, a large page
+    @Param({"1", "50", "1000"})
+    public int responseSize;
+
+    private ObjectMapper objectMapper;
+    private List<AppUser> users;
+    private List<UserWithSkillsView> userViews;
+    private List<Project> projects;
+    private List<ProjectWithSkillsView> projectViews;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Skill> skills = BenchmarkData.skills(2000);
+        users = BenchmarkData.users(responseSize, 12, skills, 3);
+        userViews = users.stream().map(UserWithSkillsView::from).toList();
+        projects = BenchmarkData.projects(responseSize, 8, skills, 5);
+        projectViews = projects.stream().map(ProjectWithSkillsView::from).toList();
+    }
+
+    @Benchmark
+    public byte[] userEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] userViews() throws Exception {
+        return objectMapper.writeValueAsBytes(userViews);
+    }
+
+    @Benchmark
+    public byte[] projectEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] projectViews() throws Exception {
+        return objectMapper.writeValueAsBytes(projectViews);
+    }
+}
@@ -0,0 +1,85 @@
+package com.skillsynth;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill resolution as createProject and createAIProject run it, with the database replaced by
+ * in-memory repositories: resolving a request's skills against a warm dictionary, and saving
+ * an AI project (resolving the ML's relevant skills and merging in the base skills).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillResolutionBenchmark {
+
+    private static final int REQUESTS = 64;
+
+    @Param({"5", "20"})
+    public int skillsPerRequest;
+
+    private SkillResolver resolver;
+    private SkillSynthService service;
+    private final List<List<Skill>> requests = new ArrayList<>();
+    private final List<List<Skill>> resolvedRequests = new ArrayList<>();
+    private final List<Map<String, Object>> mlResponses = new ArrayList<>();
+    private int next;
+    private PrintStream console;
+
+    @Setup
+    public void setUp() {
+        List<Skill> skills = BenchmarkData.skills(2000);
+        resolver = new SkillResolver(BenchmarkData.skillRepository(skills), null, null, event -> {});
+        for (Skill skill : skills) {
+            resolver.onSkillChanged(SkillChangedEvent.saved(skill));
+        }
+        service = new SkillSynthService(null, null, BenchmarkData.projectRepository(), null, event -> {},
+                null, null, resolver, null, null, null, null, null);
+
+        // Requests name skills the way clients send them: unresolved, in mixed case
+        Random random = new Random(7);
+        for (int i = 0; i < REQUESTS; i++) {
+            List<Skill> request = new ArrayList<>();
+            List<String> relevant = new ArrayList<>();
+            for (int j = 0; j < skillsPerRequest; j++) {
+                Skill skill = skills.get(random.nextInt(skills.size()));
+                String name = random.nextBoolean() ? skill.getName().toUpperCase() : skill.getName();
+                request.add(new Skill(name, skill.getCategory()));
+                relevant.add(skills.get(random.nextInt(skills.size())).getName());
+            }
+            requests.add(request);
+            resolvedRequests.add(resolver.resolve(request));
+            mlResponses.add(Map.of("project", Map.of(
+                    "project_name", "Generated project " + i,
+                    "description", "Build and deploy a small service end to end.",
+                    "relevant_skills", relevant)));
+        }
+
+        // The service logs every save to stdout; keep the terminal out of the measurement
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public List<Skill> resolveRequestSkills() {
+        return resolver.resolve(requests.get(next++ & (REQUESTS - 1)));
+    }
+
+    @Benchmark
+    public Project saveAIProject() {
+        int i = next++ & (REQUESTS - 1);
+        return service.saveAIProject("AI Suggested Project", resolvedRequests.get(i), 3, mlResponses.get(i));
+    }
+}
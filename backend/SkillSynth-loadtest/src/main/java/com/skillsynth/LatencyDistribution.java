@@ -0,0 +1,90 @@
+package com.skillsynth;
+
+import java.util.Random;
+
+/**
+ * Response delay of one stubbed ML endpoint, parsed from a short spec:
+ * <ul>
+ *   <li>{@code fixed:50} - always 50 ms</li>
+ *   <li>{@code uniform:20-80} - evenly spread between 20 and 80 ms</li>
+ *   <li>{@code lognormal:40,400} - median 40 ms with a p99 of 400 ms, the long right tail
+ *       real model inference shows</li>
+ * </ul>
+ */
+final class LatencyDistribution {
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private final Kind kind;
+    private final double a;
+    private final double b;
+    private final String spec;
+
+    private LatencyDistribution(Kind kind, double a, double b, String spec) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+        this.spec = spec;
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            return new LatencyDistribution(Kind.FIXED, parseMs(trimmed, spec), 0, trimmed);
+        }
+        String kind = trimmed.substring(0, colon).toLowerCase();
+        String args = trimmed.substring(colon + 1);
+        switch (kind) {
+            case "fixed":
+                return new LatencyDistribution(Kind.FIXED, parseMs(args, spec), 0, trimmed);
+            case "uniform": {
+                String[] range = args.split("-");
+                if (range.length != 2) throw new IllegalArgumentException("Expected uniform:<min>-<max>, got " + spec);
+                double min = parseMs(range[0], spec);
+                double max = parseMs(range[1], spec);
+                if (max < min) throw new IllegalArgumentException("Empty latency range: " + spec);
+                return new LatencyDistribution(Kind.UNIFORM, min, max, trimmed);
+            }
+            case "lognormal": {
+                String[] params = args.split(",");
+                if (params.length != 2) throw new IllegalArgumentException("Expected lognormal:<median>,<p99>, got " + spec);
+                double median = parseMs(params[0], spec);
+                double p99 = parseMs(params[1], spec);
+                if (median <= 0 || p99 < median) throw new IllegalArgumentException("Need 0 < median <= p99: " + spec);
+                // ln(X) ~ N(mu, sigma) with exp(mu) = median and exp(mu + Z_99 * sigma) = p99
+                return new LatencyDistribution(Kind.LOGNORMAL, Math.log(median), Math.log(p99 / median) / Z_99, trimmed);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution '" + kind + "' in " + spec);
+        }
+    }
+
+    private static double parseMs(String value, String spec) {
+        try {
+            double ms = Double.parseDouble(value.trim());
+            if (ms < 0) throw new IllegalArgumentException("Negative latency in " + spec);
+            return ms;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad latency '" + value + "' in " + spec, e);
+        }
+    }
+
+    /** Draws one delay in milliseconds. */
+    long sampleMs(Random random) {
+        double ms = switch (kind) {
+            case FIXED -> a;
+            case UNIFORM -> a + random.nextDouble() * (b - a);
+            case LOGNORMAL -> Math.exp(a + b * random.nextGaussian());
+        };
+        return Math.round(ms);
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
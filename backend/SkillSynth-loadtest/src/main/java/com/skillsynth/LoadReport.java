@@ -0,0 +1,132 @@
+package com.skillsynth;
+
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-operation outcomes of one measured run: throughput, error and drop counts, and latency
+ * percentiles. Latencies are kept exactly (one long per request) and sorted once at the end;
+ * a run of a few hundred thousand requests needs a few megabytes.
+ */
+final class LoadReport {
+
+    static final class Stats {
+        private long[] latenciesMicros = new long[1024];
+        private int count;
+        private long ok;
+        private long errors;
+        private long dropped;
+        private final Map<String, Long> errorKinds = new TreeMap<>();
+
+        synchronized void success(long latencyMicros) {
+            ok++;
+            record(latencyMicros);
+        }
+
+        /** {@code kind} is the HTTP status, or the exception class when no response arrived. */
+        synchronized void error(long latencyMicros, String kind) {
+            errors++;
+            errorKinds.merge(kind, 1L, Long::sum);
+            record(latencyMicros);
+        }
+
+        // Not sent at all: too many requests already in flight
+        synchronized void dropped() {
+            dropped++;
+        }
+
+        private void record(long latencyMicros) {
+            if (count == latenciesMicros.length) {
+                latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+            }
+            latenciesMicros[count++] = latencyMicros;
+        }
+
+        synchronized Map<String, Object> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latenciesMicros, count);
+            Arrays.sort(sorted);
+            long attempted = ok + errors + dropped;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", attempted);
+            summary.put("ok", ok);
+            summary.put("errors", errors);
+            summary.put("dropped", dropped);
+            summary.put("error_rate", attempted == 0 ? 0.0 : (double) (errors + dropped) / attempted);
+            summary.put("throughput_rps", seconds > 0 ? ok / seconds : 0.0);
+            summary.put("p50_ms", percentileMs(sorted, 0.50));
+            summary.put("p95_ms", percentileMs(sorted, 0.95));
+            summary.put("p99_ms", percentileMs(sorted, 0.99));
+            summary.put("max_ms", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1000.0);
+            summary.put("error_kinds", new LinkedHashMap<>(errorKinds));
+            return summary;
+        }
+    }
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    Stats forOperation(String operation) {
+        return stats.computeIfAbsent(operation, k -> new Stats());
+    }
+
+    void started() {
+        startNanos = System.nanoTime();
+    }
+
+    void finished() {
+        endNanos = System.nanoTime();
+    }
+
+    double seconds() {
+        return (endNanos - startNanos) / 1e9;
+    }
+
+    // Nearest-rank percentile
+    static double percentileMs(long[] sortedMicros, double percentile) {
+        if (sortedMicros.length == 0) return 0.0;
+        int rank = (int) Math.ceil(percentile * sortedMicros.length);
+        return sortedMicros[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    Map<String, Object> toMap() {
+        double seconds = seconds();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (String operation : LoadTestOptions.OPERATIONS) {
+            Stats s = stats.get(operation);
+            if (s != null) operations.put(operation, s.summarize(seconds));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("duration_s", seconds);
+        report.put("operations", operations);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    void print(PrintStream out) {
+        Map<String, Object> report = toMap();
+        out.printf("%nMeasured %.1f s%n", (double) report.get("duration_s"));
+        out.printf("%-14s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "rps", "errors", "error%", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Map<String, Object> operations = (Map<String, Object>) report.get("operations");
+        operations.forEach((operation, raw) -> {
+            Map<String, Object> s = (Map<String, Object>) raw;
+            out.printf("%-14s %9d %9.1f %8d %8.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    operation,
+                    (long) s.get("requests"),
+                    (double) s.get("throughput_rps"),
+                    (long) s.get("errors") + (long) s.get("dropped"),
+                    100 * (double) s.get("error_rate"),
+                    (double) s.get("p50_ms"),
+                    (double) s.get("p95_ms"),
+                    (double) s.get("p99_ms"),
+                    (double) s.get("max_ms"));
+            Map<String, Long> kinds = (Map<String, Long>) s.get("error_kinds");
+            if (!kinds.isEmpty() || (long) s.get("dropped") > 0) {
+                out.printf("%-14s   errors %s, dropped %d%n", "", kinds, (long) s.get("dropped"));
+            }
+        });
+    }
+}
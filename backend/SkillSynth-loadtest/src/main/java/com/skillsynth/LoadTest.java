@@ -0,0 +1,131 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: boots SkillSynthApplication in this JVM against PostgreSQL (an
+ * embedded throwaway instance by default, or any JDBC URL) and an MLStub in place of the
+ * FastAPI service, seeds it, and drives a mix of signups, skill searches, AI project
+ * generations and teammate lookups at a fixed request rate. Prints throughput, error rate and
+ * p50/p95/p99 latency per operation, plus the calls and injected failures the ML stub saw.
+ * <p>
+ * Embedded PostgreSQL refuses to run as root. The application's own output goes to
+ * {@code --app-log}, keeping the console for the harness. Run with {@code --help} for options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PrintStream console = System.out;
+        PrintStream appLog = new PrintStream(new FileOutputStream(options.appLog), true, StandardCharsets.UTF_8);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        int exitCode = 0;
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext app = null;
+        try (MLStub mlStub = new MLStub(options.mlLatency, options.mlErrorRate, options.mlErrorStatus)) {
+            mlStub.start();
+            console.println("ML stub listening on " + mlStub.baseUrl());
+            System.setOut(appLog);
+            System.setErr(appLog);
+
+            // System properties outrank application.properties; arguments passed through to
+            // the application still outrank these
+            Map<String, String> properties = new HashMap<>();
+            if (options.db.equals("embedded")) {
+                console.println("Starting embedded PostgreSQL...");
+                postgres = EmbeddedPostgres.builder().start();
+                properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+                properties.put("spring.datasource.username", "postgres");
+                properties.put("spring.datasource.password", "postgres");
+            } else {
+                properties.put("spring.datasource.url", options.db);
+                properties.put("spring.datasource.username", Objects.requireNonNullElse(options.dbUser, ""));
+                properties.put("spring.datasource.password", Objects.requireNonNullElse(options.dbPassword, ""));
+            }
+            properties.put("ml.api.base-url", mlStub.baseUrl());
+            properties.put("server.port", "0");
+            properties.put("spring.jpa.show-sql", "false");
+            properties.forEach(System::setProperty);
+
+            console.println("Starting SkillSynth (output in " + Path.of(options.appLog).toAbsolutePath() + ")...");
+            app = new SpringApplicationBuilder(SkillSynthApplication.class)
+                    .run(options.applicationArgs.toArray(String[]::new));
+            String baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            Workload workload = new Workload(http, baseUrl, objectMapper, options);
+
+            console.printf("Seeding %d skills and %d users...%n", options.skills, options.users);
+            mlStub.setSkillNames(workload.seed());
+
+            console.printf("Offering %.1f req/s, mix %s%n", options.rps, options.mix);
+            if (!options.warmup.isZero()) {
+                console.println("Warming up for " + options.warmup.toSeconds() + " s...");
+                workload.run(options.warmup, new LoadReport());
+            }
+            console.println("Measuring for " + options.duration.toSeconds() + " s...");
+            LoadReport report = new LoadReport();
+            workload.run(options.duration, report);
+
+            report.print(console);
+            Map<String, Object> mlStats = mlStub.getStats();
+            console.println("\nML stub (warmup included):");
+            mlStats.forEach((endpoint, stats) -> console.printf("  %-26s %s%n", endpoint, stats));
+
+            if (options.report != null) {
+                Map<String, Object> json = new LinkedHashMap<>(report.toMap());
+                json.put("target_rps", options.rps);
+                json.put("mix", options.mix);
+                json.put("ml_stub", mlStats);
+                json.put("ml_client", fetchStats(http, baseUrl + "/api/ml/client/stats", objectMapper));
+                json.put("project_cache", fetchStats(http, baseUrl + "/api/ml/project-cache/stats", objectMapper));
+                json.put("teammates", fetchStats(http, baseUrl + "/api/users/teammates/stats", objectMapper));
+                objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(Path.of(options.report).toFile(), json);
+                console.println("\nReport written to " + Path.of(options.report).toAbsolutePath());
+            }
+        } catch (Exception e) {
+            console.println("Load test failed: " + e.getMessage());
+            e.printStackTrace(console);
+            exitCode = 1;
+        } finally {
+            if (app != null) SpringApplication.exit(app);
+            if (postgres != null) postgres.close();
+            System.setOut(console);
+            appLog.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static Object fetchStats(HttpClient http, String url, ObjectMapper objectMapper) {
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return objectMapper.readTree(response.body());
+        } catch (Exception e) {
+            return Map.of("error", String.valueOf(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.skillsynth;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Command line of the load test. Options are {@code --name=value}; any argument the harness
+ * does not recognise is handed to the application, so {@code --ml.hedge.enabled=false} or
+ * {@code --teammates.precompute.enabled=false} switch features off for a run.
+ */
+final class LoadTestOptions {
+
+    static final List<String> OPERATIONS = List.of("signup", "skill_search", "ai_generate", "teammates");
+
+    static final List<String> ML_ENDPOINTS = List.of(
+            "grab_relevant_skills", "get_project", "upload_users", "find_teammates", "process_and_upload_skills",
+            "fetch_skill_embeddings");
+
+    private static final String USAGE = """
+            Usage: java -jar loadtest.jar [options] [--<application property>=<value> ...]
+
+              --rps=50                     target request rate, held open-loop
+              --duration=60s               measured run length (ms, s or m)
+              --warmup=10s                 unmeasured run before it
+              --mix=signup:10,skill_search:50,ai_generate:10,teammates:30
+                                           relative weights of the operations
+              --users=500 --skills=300     rows seeded through the bulk import endpoints
+              --max-in-flight=2000         requests past this are dropped and counted
+              --request-timeout=30s
+              --db=embedded                or a JDBC URL (the schema is recreated!)
+              --db-user= --db-password=    defaults: JPA_DB_USER / JPA_DB_PW
+              --ml-latency=lognormal:40,400
+              --ml-latency.get_project=lognormal:1500,6000
+                                           fixed:<ms> | uniform:<min>-<max> | lognormal:<median>,<p99>
+              --ml-error-rate=0.01         fraction of ML calls failed, per endpoint with
+                                           --ml-error-rate.<endpoint>=
+              --ml-error-status=503
+              --app-log=loadtest-app.log   where the application's own output goes
+              --report=<file>.json         also write the results as JSON
+              --seed=42
+            """;
+
+    double rps = 50;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    Map<String, Integer> mix = parseMix("signup:10,skill_search:50,ai_generate:10,teammates:30");
+    int users = 500;
+    int skills = 300;
+    int maxInFlight = 2000;
+    Duration requestTimeout = Duration.ofSeconds(30);
+    String db = "embedded";
+    String dbUser = System.getenv("JPA_DB_USER");
+    String dbPassword = System.getenv("JPA_DB_PW");
+    Map<String, LatencyDistribution> mlLatency = new HashMap<>();
+    Map<String, Double> mlErrorRate = new HashMap<>();
+    int mlErrorStatus = 503;
+    String appLog = "loadtest-app.log";
+    String report;
+    long seed = 42;
+    final List<String> applicationArgs = new ArrayList<>();
+
+    private LoadTestOptions() {
+        LatencyDistribution inference = LatencyDistribution.parse("lognormal:40,400");
+        for (String endpoint : ML_ENDPOINTS) {
+            mlLatency.put(endpoint, inference);
+            mlErrorRate.put(endpoint, 0.01);
+        }
+        // LLM generation is orders of magnitude slower than a vector lookup
+        mlLatency.put("get_project", LatencyDistribution.parse("lognormal:1500,6000"));
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        Map<String, LatencyDistribution> latencyOverrides = new HashMap<>();
+        Map<String, Double> errorOverrides = new HashMap<>();
+
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println(USAGE);
+                System.exit(0);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg + "\n" + USAGE);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "rps" -> options.rps = positive(Double.parseDouble(value), name);
+                case "duration" -> options.duration = duration(value);
+                case "warmup" -> options.warmup = duration(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "users" -> options.users = (int) positive(Integer.parseInt(value), name);
+                case "skills" -> options.skills = (int) positive(Integer.parseInt(value), name);
+                case "max-in-flight" -> options.maxInFlight = (int) positive(Integer.parseInt(value), name);
+                case "request-timeout" -> options.requestTimeout = duration(value);
+                case "db" -> options.db = value;
+                case "db-user" -> options.dbUser = value;
+                case "db-password" -> options.dbPassword = value;
+                case "ml-latency" -> options.mlLatency.replaceAll((endpoint, old) -> LatencyDistribution.parse(value));
+                case "ml-error-rate" -> options.mlErrorRate.replaceAll((endpoint, old) -> rate(value));
+                case "ml-error-status" -> options.mlErrorStatus = Integer.parseInt(value);
+                case "app-log" -> options.appLog = value;
+                case "report" -> options.report = value;
+                case "seed" -> options.seed = Long.parseLong(value);
+                default -> {
+                    if (name.startsWith("ml-latency.")) {
+                        latencyOverrides.put(mlEndpoint(name), LatencyDistribution.parse(value));
+                    } else if (name.startsWith("ml-error-rate.")) {
+                        errorOverrides.put(mlEndpoint(name), rate(value));
+                    } else {
+                        options.applicationArgs.add(arg);
+                    }
+                }
+            }
+        }
+        // Per-endpoint settings win over the blanket ones whatever the argument order
+        options.mlLatency.putAll(latencyOverrides);
+        options.mlErrorRate.putAll(errorOverrides);
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] weighted = part.trim().split(":");
+            if (weighted.length != 2 || !OPERATIONS.contains(weighted[0])) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', operations are " + OPERATIONS);
+            }
+            int weight = Integer.parseInt(weighted[1]);
+            if (weight < 0) throw new IllegalArgumentException("Negative weight in mix: " + part);
+            if (weight > 0) mix.put(weighted[0], weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("Mix has no operations: " + spec);
+        return mix;
+    }
+
+    private static String mlEndpoint(String name) {
+        String endpoint = name.substring(name.indexOf('.') + 1);
+        if (!ML_ENDPOINTS.contains(endpoint)) {
+            throw new IllegalArgumentException("Unknown ML endpoint '" + endpoint + "', expected one of " + ML_ENDPOINTS);
+        }
+        return endpoint;
+    }
+
+    private static double rate(String value) {
+        double rate = Double.parseDouble(value);
+        if (rate < 0 || rate > 1) throw new IllegalArgumentException("Error rate must be within [0, 1]: " + value);
+        return rate;
+    }
+
+    private static double positive(double value, String name) {
+        if (value <= 0) throw new IllegalArgumentException("--" + name + " must be positive");
+        return value;
+    }
+
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+}
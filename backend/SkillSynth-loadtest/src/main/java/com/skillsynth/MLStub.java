@@ -0,0 +1,183 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the FastAPI ML service, so the backend can be driven without
+ * Pinecone or Ollama. Serves the endpoints MLClient calls with answers of the real
+ * shapes, delaying each response by its endpoint's LatencyDistribution and failing a
+ * configured fraction with an error status. Each request is handled on its own virtual
+ * thread, so slow responses never queue behind each other.
+ */
+final class MLStub implements AutoCloseable {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+    // The backend's default skills.index.dimensions, the size of the real mxbai-embed-large vectors
+    private static final int EMBEDDING_DIMENSIONS = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyDistribution> latency;
+    private final Map<String, Double> errorRate;
+    private final int errorStatus;
+    private final HttpServer server;
+
+    // Names handed out as relevant skills; the seeded dictionary, set before the run
+    private volatile List<String> skillNames = List.of("Java", "Python", "Docker");
+
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> injectedErrors = new ConcurrentHashMap<>();
+
+    MLStub(Map<String, LatencyDistribution> latency, Map<String, Double> errorRate, int errorStatus) throws IOException {
+        this.latency = Map.copyOf(latency);
+        this.errorRate = Map.copyOf(errorRate);
+        this.errorStatus = errorStatus;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        for (String endpoint : LoadTestOptions.ML_ENDPOINTS) {
+            calls.put(endpoint, new AtomicLong());
+            injectedErrors.put(endpoint, new AtomicLong());
+            server.createContext("/" + endpoint, exchange -> handle(endpoint, exchange));
+        }
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setSkillNames(List<String> skillNames) {
+        if (!skillNames.isEmpty()) this.skillNames = List.copyOf(skillNames);
+    }
+
+    private void handle(String endpoint, HttpExchange exchange) throws IOException {
+        try (exchange) {
+            calls.get(endpoint).incrementAndGet();
+            Map<String, Object> request;
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] bytes = body.readAllBytes();
+                request = bytes.length == 0 ? Map.of() : objectMapper.readValue(bytes, JSON_OBJECT);
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            sleep(latency.get(endpoint).sampleMs(random));
+
+            if (random.nextDouble() < errorRate.get(endpoint)) {
+                injectedErrors.get(endpoint).incrementAndGet();
+                send(exchange, errorStatus, Map.of("detail", "injected failure"));
+                return;
+            }
+            send(exchange, 200, respond(endpoint, request, random));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> respond(String endpoint, Map<String, Object> request, Random random) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        switch (endpoint) {
+            case "grab_relevant_skills" -> {
+                int topK = request.get("top_k") instanceof Number n ? n.intValue() : 10;
+                List<Map<String, Object>> relevant = new ArrayList<>();
+                float score = 0.95f;
+                for (String name : pickSkills(topK, random)) {
+                    relevant.add(Map.of("skill", name, "score", score, "category", "General", "description", ""));
+                    score *= 0.93f;
+                }
+                response.put("main_skill", request.get("main_skill"));
+                response.put("relevant_skills", relevant);
+            }
+            case "get_project" -> {
+                Map<String, Object> project = new LinkedHashMap<>();
+                project.put("project_name", "Load test project " + Long.toHexString(random.nextLong()));
+                project.put("description", "Build, test and deploy a small service that exercises "
+                        + request.getOrDefault("main_skills", List.of()) + " end to end.");
+                project.put("relevant_skills", pickSkills(3 + random.nextInt(3), random));
+                response.put("project", project);
+            }
+            case "fetch_skill_embeddings" -> {
+                // Every skill is embedded, with a vector that is stable per name
+                Map<String, Object> embeddings = new LinkedHashMap<>();
+                if (request.get("skills") instanceof List<?> names) {
+                    for (Object name : names) {
+                        embeddings.put(String.valueOf(name), Map.of("values", embedding(String.valueOf(name)),
+                                "description", ""));
+                    }
+                }
+                response.put("embeddings", embeddings);
+            }
+            case "find_teammates" -> {
+                Object user = request.get("user");
+                response.put("user_id", user instanceof Map<?, ?> u ? u.get("id") : null);
+                response.put("teammates", List.of());
+            }
+            default -> response.put("status", "success");
+        }
+        return response;
+    }
+
+    private static List<Float> embedding(String name) {
+        Random random = new Random(name.hashCode());
+        List<Float> values = new ArrayList<>(EMBEDDING_DIMENSIONS);
+        for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
+            values.add((float) random.nextGaussian());
+        }
+        return values;
+    }
+
+    private List<String> pickSkills(int count, Random random) {
+        List<String> names = skillNames;
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, names.size())) {
+            picked.add(names.get(random.nextInt(names.size())));
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long ms) throws InterruptedException {
+        if (ms > 0) Thread.sleep(ms);
+    }
+
+    /** Calls and injected errors per endpoint so far. */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String endpoint : LoadTestOptions.ML_ENDPOINTS) {
+            Map<String, Object> endpointStats = new LinkedHashMap<>();
+            endpointStats.put("latency", latency.get(endpoint).toString());
+            endpointStats.put("error_rate", errorRate.get(endpoint));
+            endpointStats.put("calls", calls.get(endpoint).get());
+            endpointStats.put("injected_errors", injectedErrors.get(endpoint).get());
+            stats.put(endpoint, endpointStats);
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
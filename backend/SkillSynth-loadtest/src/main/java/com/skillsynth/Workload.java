@@ -0,0 +1,271 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Seeds the backend through its bulk import endpoints, then drives the mixed workload over
+ * HTTP. The driver is open-loop: request i is due at start + i / rps whether or not earlier
+ * requests have answered, and its latency is measured from that due time. A backend that
+ * stalls therefore shows the queueing delay it causes instead of quietly lowering the
+ * offered rate (coordinated omission).
+ */
+final class Workload {
+
+    private static final String[] TECHNOLOGIES = {
+            "Java", "Python", "JavaScript", "TypeScript", "Go", "Rust", "Kotlin", "C#", "Spring Boot", "Django",
+            "FastAPI", "React", "Vue", "Angular", "Node.js", "PostgreSQL", "MongoDB", "Redis", "Kafka", "Docker",
+            "Kubernetes", "Terraform", "AWS", "GCP", "Azure", "Git", "GraphQL", "Pandas", "PyTorch", "Figma"
+    };
+
+    private static final String[] FACETS = {
+            "", "Testing", "Performance", "Security", "Internals", "Tooling", "Patterns", "Migrations", "Debugging"
+    };
+
+    private static final String[] CATEGORIES = {"Programming", "Backend", "Frontend", "Databases", "DevOps", "Data Science", "Design"};
+
+    private final HttpClient http;
+    private final String api;
+    private final ObjectMapper objectMapper;
+    private final LoadTestOptions options;
+
+    private final List<String> skillNames = new ArrayList<>();
+    // Users to look teammates up for: the seeded ones plus every successful signup
+    private final List<Long> userIds = new ArrayList<>();
+    private final AtomicLong signups = new AtomicLong();
+
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(HttpClient http, String baseUrl, ObjectMapper objectMapper, LoadTestOptions options) {
+        this.http = http;
+        this.api = baseUrl + "/api";
+        this.objectMapper = objectMapper;
+        this.options = options;
+
+        operations = options.mix.keySet().toArray(String[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /* ==============================
+       SEEDING
+    ============================== */
+
+    /** Imports the skill dictionary and users; returns the skill names. */
+    List<String> seed() throws IOException, InterruptedException {
+        Random random = new Random(options.seed);
+
+        StringBuilder skills = new StringBuilder();
+        for (int i = 0; i < options.skills; i++) {
+            String name = skillName(i);
+            skillNames.add(name);
+            skills.append(objectMapper.writeValueAsString(Map.of("name", name, "category", CATEGORIES[i % CATEGORIES.length]))).append('\n');
+        }
+        importNdjson("/import/skills", skills.toString());
+
+        StringBuilder users = new StringBuilder();
+        for (int i = 0; i < options.users; i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("username", "seed-user-" + i);
+            user.put("level", 1 + random.nextInt(5));
+            user.put("skills", pickSkills(3 + random.nextInt(6), random));
+            users.append(objectMapper.writeValueAsString(user)).append('\n');
+        }
+        importNdjson("/import/users", users.toString());
+
+        loadUserIds();
+        return List.copyOf(skillNames);
+    }
+
+    private static String skillName(int i) {
+        String technology = TECHNOLOGIES[i % TECHNOLOGIES.length];
+        int round = i / TECHNOLOGIES.length;
+        String facet = FACETS[round % FACETS.length];
+        String name = facet.isEmpty() ? technology : technology + " " + facet;
+        return round < FACETS.length ? name : name + " " + (round / FACETS.length + 1);
+    }
+
+    private void importNdjson(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(api + path))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode report = objectMapper.readTree(response.body());
+        if (report.path("failed").asInt() > 0) {
+            throw new IllegalStateException("Seeding " + path + " rejected rows: " + report.path("errors"));
+        }
+    }
+
+    private void loadUserIds() throws IOException, InterruptedException {
+        String after = "0";
+        while (after != null) {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(
+                            URI.create(api + "/users?limit=" + KeysetPage.MAX_LIMIT + "&after=" + after)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode user : objectMapper.readTree(response.body())) {
+                userIds.add(user.get("id").asLong());
+            }
+            after = response.headers().firstValue(KeysetPage.NEXT_CURSOR_HEADER).orElse(null);
+        }
+        if (userIds.isEmpty()) throw new IllegalStateException("No users after seeding");
+    }
+
+    /* ==============================
+       DRIVER
+    ============================== */
+
+    /** Offers {@code options.rps} requests per second for {@code length}, then waits for stragglers. */
+    void run(Duration length, LoadReport report) {
+        Random random = new Random(options.seed);
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        long periodNanos = (long) (1e9 / options.rps);
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+
+        report.started();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * periodNanos;
+                if (due >= end) break;
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                String operation = pickOperation(random);
+                LoadReport.Stats stats = report.forOperation(operation);
+                if (!inFlight.tryAcquire()) {
+                    stats.dropped();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        execute(operation, due, stats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            report.finished();
+        }
+    }
+
+    private String pickOperation(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(String operation, long dueNanos, LoadReport.Stats stats) {
+        try {
+            HttpResponse<String> response = http.send(request(operation), HttpResponse.BodyHandlers.ofString());
+            long latencyMicros = (System.nanoTime() - dueNanos) / 1000;
+            if (response.statusCode() / 100 == 2) {
+                stats.success(latencyMicros);
+                if (operation.equals("signup")) addUser(response.body());
+            } else {
+                stats.error(latencyMicros, String.valueOf(response.statusCode()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            stats.error((System.nanoTime() - dueNanos) / 1000, e.getClass().getSimpleName());
+        }
+    }
+
+    private HttpRequest request(String operation) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case "signup" -> {
+                List<Map<String, Object>> skills = new ArrayList<>();
+                for (String name : pickSkills(2 + random.nextInt(5), random)) {
+                    skills.add(Map.of("name", name, "category", "General"));
+                }
+                Map<String, Object> user = new LinkedHashMap<>();
+                user.put("username", "load-user-" + signups.incrementAndGet() + "-" + Long.toHexString(random.nextLong()));
+                user.put("level", 1 + random.nextInt(5));
+                user.put("allSkills", skills);
+                yield post("/users", user);
+            }
+            case "skill_search" -> {
+                String name = skillNames.get(random.nextInt(skillNames.size()));
+                String prefix = name.substring(0, Math.min(name.length(), 2 + random.nextInt(3)));
+                yield get("/skills/search?limit=10&keyword=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8));
+            }
+            case "ai_generate" -> {
+                List<Map<String, Object>> skills = new ArrayList<>();
+                for (String name : pickSkills(1 + random.nextInt(3), random)) {
+                    skills.add(Map.of("skillName", name, "category", "General"));
+                }
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("skills", skills);
+                body.put("time_availability", 1 + random.nextInt(20));
+                body.put("experience_level", 1 + random.nextInt(5));
+                yield post("/projects/ai-generate-and-save", body);
+            }
+            case "teammates" -> get("/users/" + randomUserId(random) + "/teammates?topK=15");
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(api + path)).timeout(options.requestTimeout).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(api + path))
+                .timeout(options.requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    // Squaring a uniform draw favours the front of the dictionary, so some skills are popular
+    private List<String> pickSkills(int count, Random random) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, skillNames.size())) {
+            double u = random.nextDouble();
+            picked.add(skillNames.get((int) (u * u * skillNames.size())));
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private void addUser(String body) throws IOException {
+        JsonNode id = objectMapper.readTree(body).get("id");
+        if (id == null || !id.canConvertToLong()) return;
+        synchronized (userIds) {
+            userIds.add(id.asLong());
+        }
+    }
+
+    private long randomUserId(Random random) {
+        synchronized (userIds) {
+            return userIds.get(random.nextInt(userIds.size()));
+        }
+    }
+}
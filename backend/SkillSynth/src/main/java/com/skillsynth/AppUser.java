@@ -1,11 +1,14 @@
 package com.skillsynth;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_level", columnList = "level, id"))
+@NamedEntityGraph(name = "AppUser.withSkills", attributeNodes = @NamedAttributeNode("allSkills"))
 public class AppUser {
 
     @Id
@@ -15,11 +18,15 @@ public class AppUser {
     private String username;
     private int level;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE})
+    // Lazy: reads that need skills ask for them through the AppUser.withSkills graph,
+    // and pages initialize them for a whole batch of users in one IN query
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE})
+    @BatchSize(size = 100)
     @JoinTable(
         name = "user_skills",
         joinColumns = @JoinColumn(name = "user_id"),
-        inverseJoinColumns = @JoinColumn(name = "skill_id")
+        inverseJoinColumns = @JoinColumn(name = "skill_id"),
+        indexes = @Index(name = "idx_user_skills_skill", columnList = "skill_id, user_id")
     )
     private List<Skill> allSkills = new ArrayList<>(); // ✅ Initialize to avoid nulls
 
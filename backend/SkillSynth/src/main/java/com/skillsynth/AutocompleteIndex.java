@@ -0,0 +1,191 @@
+package com.skillsynth;
+
+import java.util.*;
+
+/**
+ * Ranked autocomplete over skill names and categories. A sorted term dictionary answers
+ * prefix queries with one range scan; a trigram index proposes candidates for misspelled
+ * queries, which are then checked with a prefix edit distance. Entries can be added and
+ * removed one at a time. Not thread-safe: callers guard it (see SkillAutocomplete).
+ */
+class AutocompleteIndex {
+
+    record Match(long id, float score) {}
+
+    private record Entry(long id, String name, List<String> nameTokens, Set<String> terms) {}
+
+    // Tiers keep every prefix hit above every fuzzy hit
+    private static final float EXACT = 400f;
+    private static final float NAME_PREFIX = 300f;
+    private static final float WORD_PREFIX = 200f;
+    private static final float CATEGORY_PREFIX = 100f;
+    private static final float FUZZY = 50f;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeMap<String, Set<Long>> terms = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+
+    int size() {
+        return entries.size();
+    }
+
+    void add(long id, String name, String category) {
+        remove(id);
+        String normalizedName = SkillEmbedder.normalize(name);
+        String normalizedCategory = category != null ? SkillEmbedder.normalize(category) : "";
+        List<String> nameTokens = tokens(normalizedName);
+
+        Set<String> entryTerms = new HashSet<>(nameTokens);
+        entryTerms.add(normalizedName);
+        entryTerms.addAll(tokens(normalizedCategory));
+        if (!normalizedCategory.isEmpty()) entryTerms.add(normalizedCategory);
+
+        Entry entry = new Entry(id, normalizedName, nameTokens, entryTerms);
+        entries.put(id, entry);
+        for (String term : entryTerms) {
+            terms.computeIfAbsent(term, t -> new HashSet<>()).add(id);
+        }
+        for (String gram : trigramsOf(normalizedName, true)) {
+            trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        for (String term : entry.terms()) {
+            detach(terms, term, id);
+        }
+        for (String gram : trigramsOf(entry.name(), true)) {
+            detach(trigrams, gram, id);
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        terms.clear();
+        trigrams.clear();
+    }
+
+    /** Best {@code limit} matches for the query, highest score first. */
+    List<Match> search(String query, int limit) {
+        String q = SkillEmbedder.normalize(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        Map<Long, Float> scores = new HashMap<>();
+
+        // 1. Prefix: one range scan over the sorted terms starting with q
+        for (Set<Long> ids : terms.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                scores.computeIfAbsent(id, key -> prefixScore(entries.get(key), q));
+            }
+        }
+
+        // 2. Fuzzy: only when prefixes alone cannot fill the result
+        if (scores.size() < limit && q.length() >= 3) {
+            addFuzzyMatches(q, scores);
+        }
+
+        // Bounded min-heap keeps the top results without sorting every hit
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::score)
+                .thenComparing(m -> -entries.get(m.id()).name().length())
+                .thenComparing(m -> -m.id());
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, ranking);
+        scores.forEach((id, score) -> {
+            best.offer(new Match(id, score));
+            if (best.size() > limit) best.poll();
+        });
+        List<Match> result = new ArrayList<>(best);
+        result.sort(ranking.reversed());
+        return result;
+    }
+
+    private static float prefixScore(Entry entry, String q) {
+        // Shorter completions of the same prefix rank first
+        float closeness = (float) q.length() / Math.max(q.length(), entry.name().length());
+        if (entry.name().equals(q)) return EXACT;
+        if (entry.name().startsWith(q)) return NAME_PREFIX + closeness;
+        for (String token : entry.nameTokens()) {
+            if (token.startsWith(q)) return WORD_PREFIX + closeness;
+        }
+        return CATEGORY_PREFIX + closeness;
+    }
+
+    private void addFuzzyMatches(String q, Map<Long, Float> scores) {
+        // The query may be a half-typed word, so only its start is anchored
+        Set<String> queryGrams = trigramsOf(q, false);
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = trigrams.get(gram);
+            if (ids == null) continue;
+            for (Long id : ids) shared.merge(id, 1, Integer::sum);
+        }
+
+        int maxEdits = q.length() <= 4 ? 1 : 2;
+        // Each edit destroys at most three trigrams, so fewer shared ones cannot be within reach
+        int minShared = Math.max(1, queryGrams.size() - 3 * maxEdits);
+        shared.forEach((id, count) -> {
+            if (count < minShared || scores.containsKey(id)) return;
+            Entry entry = entries.get(id);
+            int distance = prefixDistance(q, entry.name(), maxEdits);
+            for (String token : entry.nameTokens()) {
+                distance = Math.min(distance, prefixDistance(q, token, maxEdits));
+            }
+            if (distance <= maxEdits) {
+                scores.put(id, FUZZY - 10f * distance + (float) count / queryGrams.size());
+            }
+        });
+    }
+
+    /**
+     * Smallest Levenshtein distance between the query and any prefix of the text, or
+     * {@code maxEdits + 1} once every prefix is out of reach. Lets half-typed words with a
+     * typo ("pyhton" for "python") match.
+     */
+    static int prefixDistance(String query, String text, int maxEdits) {
+        int[] previous = new int[query.length() + 1];
+        int[] current = new int[query.length() + 1];
+        for (int i = 0; i <= query.length(); i++) previous[i] = i;
+
+        int best = previous[query.length()];
+        for (int j = 1; j <= text.length(); j++) {
+            current[0] = j;
+            int rowMin = current[0];
+            for (int i = 1; i <= query.length(); i++) {
+                int cost = query.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                current[i] = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            best = Math.min(best, current[query.length()]);
+            if (rowMin > maxEdits) break;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(best, maxEdits + 1);
+    }
+
+    static List<String> tokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("[\\s/_\\-(),]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigramsOf(String text, boolean padEnd) {
+        String padded = " " + text + (padEnd ? " " : "");
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static void detach(Map<String, Set<Long>> index, String key, long id) {
+        Set<Long> ids = index.get(key);
+        if (ids == null) return;
+        ids.remove(id);
+        if (ids.isEmpty()) index.remove(key);
+    }
+}
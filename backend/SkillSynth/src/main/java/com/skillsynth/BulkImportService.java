@@ -0,0 +1,437 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Streams NDJSON bodies (one JSON object per line) into the users, skills and project tables.
+ * Lines are parsed one at a time and written in bounded chunks with JDBC batching, each chunk
+ * in its own transaction together with its ml_outbox rows. When a chunk fails it is retried
+ * row by row, so a bad record is reported by line number without aborting the load.
+ */
+@Service
+public class BulkImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private record SkillRef(String name, String category) {}
+
+    private record SkillInfo(Long id, String name, int level) {}
+
+    /**
+     * Skills known to one import, by normalized name. Entries added inside a chunk's
+     * transaction stay provisional until it commits: a rollback takes their rows, and ids,
+     * with it, so they are dropped again instead of reloading the table.
+     */
+    private static final class SkillDictionary {
+        private final Map<String, SkillInfo> byName;
+        private final Set<String> provisional = new HashSet<>();
+
+        SkillDictionary(Map<String, SkillInfo> byName) {
+            this.byName = byName;
+        }
+
+        boolean contains(String key) {
+            return byName.containsKey(key);
+        }
+
+        SkillInfo get(String key) {
+            return byName.get(key);
+        }
+
+        void add(String key, SkillInfo skill) {
+            if (byName.put(key, skill) == null) provisional.add(key);
+        }
+
+        void commit() {
+            provisional.clear();
+        }
+
+        void rollback() {
+            provisional.forEach(byName::remove);
+            provisional.clear();
+        }
+    }
+
+    private interface Row {
+        int line();
+    }
+
+    private record UserRow(int line, String username, int level, List<SkillRef> skills) implements Row {}
+
+    private record SkillRow(int line, String name, String category) implements Row {}
+
+    private record ProjectRow(int line, String name, String description, int experienceLevel,
+                              List<SkillRef> skills) implements Row {}
+
+    private interface RowParser<T extends Row> {
+        T parse(int line, JsonNode node);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkImportService(JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedJdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /* ==============================
+       ENTRY POINTS
+    ============================== */
+
+    // {"username": "ada", "level": 3, "skills": ["Java", {"name": "Docker", "category": "DevOps"}]}
+    public Map<String, Object> importUsers(InputStream body) throws IOException {
+        SkillDictionary skills = new SkillDictionary(loadSkills());
+        return importNdjson(body,
+                (line, node) -> new UserRow(line,
+                        requiredText(node, "username"),
+                        node.path("level").asInt(1),
+                        parseSkillRefs(node.path("skills"))),
+                chunk -> writeUsers(chunk, skills),
+                skills);
+    }
+
+    // {"name": "Docker", "category": "DevOps"}
+    public Map<String, Object> importSkills(InputStream body) throws IOException {
+        SkillDictionary skills = new SkillDictionary(loadSkills());
+        return importNdjson(body,
+                (line, node) -> new SkillRow(line,
+                        requiredText(node, "name"),
+                        node.path("category").asText("General")),
+                chunk -> writeSkills(chunk, skills),
+                skills);
+    }
+
+    // {"name": "Todo API", "description": "...", "experienceLevel": 2, "skills": ["Java"]}
+    public Map<String, Object> importProjects(InputStream body) throws IOException {
+        SkillDictionary skills = new SkillDictionary(loadSkills());
+        return importNdjson(body,
+                (line, node) -> new ProjectRow(line,
+                        requiredText(node, "name"),
+                        node.path("description").asText(null),
+                        node.path("experienceLevel").asInt(1),
+                        parseSkillRefs(node.path("skills"))),
+                chunk -> writeProjects(chunk, skills),
+                skills);
+    }
+
+    /* ==============================
+       STREAMING + CHUNKING
+    ============================== */
+
+    private <T extends Row> Map<String, Object> importNdjson(InputStream body,
+                                                             RowParser<T> parser,
+                                                             Consumer<List<T>> writer,
+                                                             SkillDictionary skills) throws IOException {
+        ImportReport report = new ImportReport();
+        List<T> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String text;
+        int line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) continue;
+            try {
+                chunk.add(parser.parse(line, objectMapper.readTree(text)));
+            } catch (Exception e) {
+                report.error(line, e.getMessage());
+                continue;
+            }
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, writer, report, skills);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, writer, report, skills);
+        }
+
+        System.out.println(" Bulk import finished: " + report.imported + " imported, " + report.failed + " failed");
+        return report.toMap();
+    }
+
+    private <T extends Row> void writeChunk(List<T> chunk, Consumer<List<T>> writer,
+                                            ImportReport report, SkillDictionary skills) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writer.accept(chunk));
+            skills.commit();
+            report.imported += chunk.size();
+        } catch (Exception chunkFailure) {
+            // Skill ids added during the rolled-back transaction are no longer valid
+            skills.rollback();
+            for (T row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writer.accept(List.of(row)));
+                    skills.commit();
+                    report.imported++;
+                } catch (Exception e) {
+                    skills.rollback();
+                    report.error(row.line(), rootMessage(e));
+                }
+            }
+        }
+    }
+
+    /* ==============================
+       WRITERS
+    ============================== */
+
+    private void writeUsers(List<UserRow> rows, SkillDictionary skills) {
+        ensureSkills(rows.stream().flatMap(r -> r.skills().stream()).toList(), skills);
+
+        List<Long> ids = insertReturningIds(
+                "INSERT INTO users (username, level) VALUES (?, ?)",
+                rows.size(),
+                (ps, i) -> {
+                    ps.setString(1, rows.get(i).username());
+                    ps.setInt(2, rows.get(i).level());
+                });
+
+        List<Object[]> links = new ArrayList<>();
+        List<Object[]> outbox = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserRow row = rows.get(i);
+            Long userId = ids.get(i);
+
+            Map<String, Integer> skillLevels = new LinkedHashMap<>();
+            List<Long> skillIds = new ArrayList<>();
+            for (SkillInfo skill : distinctSkills(row.skills(), skills)) {
+                links.add(new Object[]{userId, skill.id()});
+                skillLevels.put(skill.name(), skill.level());
+                skillIds.add(skill.id());
+            }
+            eventPublisher.publishEvent(new UserChangedEvent(userId, row.level(), skillIds, false));
+
+            outbox.add(outboxRow(MLOutboxEvent.USER, userId, MLOutbox.userPayload(userId, skillLevels, row.level())));
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO user_skills (user_id, skill_id) VALUES (?, ?)", links);
+        insertOutbox(outbox);
+    }
+
+    private void writeSkills(List<SkillRow> rows, SkillDictionary skills) {
+        ensureSkills(rows.stream().map(r -> new SkillRef(r.name(), r.category())).toList(), skills);
+    }
+
+    private void writeProjects(List<ProjectRow> rows, SkillDictionary skills) {
+        ensureSkills(rows.stream().flatMap(r -> r.skills().stream()).toList(), skills);
+
+        List<Long> ids = insertReturningIds(
+                "INSERT INTO project (name, project_description, experience_level) VALUES (?, ?, ?)",
+                rows.size(),
+                (ps, i) -> {
+                    ps.setString(1, rows.get(i).name());
+                    ps.setString(2, rows.get(i).description());
+                    ps.setInt(3, rows.get(i).experienceLevel());
+                });
+
+        List<Object[]> links = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<Long> skillIds = new ArrayList<>();
+            for (SkillInfo skill : distinctSkills(rows.get(i).skills(), skills)) {
+                links.add(new Object[]{ids.get(i), skill.id()});
+                skillIds.add(skill.id());
+            }
+            eventPublisher.publishEvent(new ProjectChangedEvent(ids.get(i), skillIds, false));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO project_skills (project_id, skill_id) VALUES (?, ?)", links);
+    }
+
+    /**
+     * Inserts every referenced skill that is not in the dictionary in one statement, then reads
+     * back their ids with a single IN query. Skills this import created are queued for the ML
+     * service.
+     */
+    private void ensureSkills(List<SkillRef> refs, SkillDictionary skills) {
+        Map<String, SkillRef> missing = new LinkedHashMap<>();
+        for (SkillRef ref : refs) {
+            String key = SkillEmbedder.normalize(ref.name());
+            if (!skills.contains(key)) missing.putIfAbsent(key, ref);
+        }
+        if (missing.isEmpty()) return;
+
+        // Only rows this statement inserted are queued; skills a concurrent writer created
+        // first are already on their way to the ML service
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.queryForList(
+                "INSERT INTO skills (name, category, level, xp) "
+                        + "SELECT name, category, 1, 0 FROM unnest(?::text[], ?::text[]) AS t(name, category) "
+                        + "ON CONFLICT (lower(name)) DO NOTHING RETURNING id",
+                Long.class,
+                missing.values().stream().map(r -> r.name().trim()).toArray(String[]::new),
+                missing.values().stream().map(SkillRef::category).toArray(String[]::new)));
+
+        List<Object[]> outbox = new ArrayList<>();
+        namedJdbcTemplate.query(
+                "SELECT id, name, category, level, xp FROM skills WHERE lower(name) IN (:names)",
+                new MapSqlParameterSource("names", missing.keySet()),
+                rs -> {
+                    SkillInfo info = new SkillInfo(rs.getLong("id"), rs.getString("name"), rs.getInt("level"));
+                    skills.add(SkillEmbedder.normalize(info.name()), info);
+                    if (!inserted.contains(info.id())) return;
+
+                    String category = rs.getString("category");
+                    outbox.add(outboxRow(MLOutboxEvent.SKILL, info.id(), MLOutbox.skillPayload(info.name(), category)));
+                    eventPublisher.publishEvent(new SkillChangedEvent(info.id(), info.name(), category, info.level(),
+                            rs.getInt("xp"), false));
+                });
+        insertOutbox(outbox);
+    }
+
+    private List<SkillInfo> distinctSkills(List<SkillRef> refs, SkillDictionary skills) {
+        Map<Long, SkillInfo> distinct = new LinkedHashMap<>();
+        for (SkillRef ref : refs) {
+            SkillInfo skill = skills.get(SkillEmbedder.normalize(ref.name()));
+            if (skill == null) throw new IllegalStateException("Skill could not be resolved: " + ref.name());
+            distinct.putIfAbsent(skill.id(), skill);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    /* ==============================
+       JDBC HELPERS
+    ============================== */
+
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private List<Long> insertReturningIds(String sql, int count, RowBinder binder) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                },
+                keys);
+        return keys.getKeyList().stream().map(k -> ((Number) k.get("id")).longValue()).toList();
+    }
+
+    private Object[] outboxRow(String type, Long aggregateId, Object payload) {
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            return new Object[]{type, aggregateId, objectMapper.writeValueAsString(payload), now, now};
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize ML outbox payload", e);
+        }
+    }
+
+    private void insertOutbox(List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ml_outbox (aggregate_type, aggregate_id, payload, created_at, next_attempt_at, attempts) " +
+                "VALUES (?, ?, ?, ?, ?, 0)",
+                rows);
+    }
+
+    private Map<String, SkillInfo> loadSkills() {
+        Map<String, SkillInfo> skills = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name, level FROM skills", rs -> {
+            SkillInfo info = new SkillInfo(rs.getLong("id"), rs.getString("name"), rs.getInt("level"));
+            skills.put(SkillEmbedder.normalize(info.name()), info);
+        });
+        return skills;
+    }
+
+    /* ==============================
+       PARSING + REPORTING
+    ============================== */
+
+    private static String requiredText(JsonNode node, String field) {
+        String value = node.path(field).asText(null);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing required field '" + field + "'");
+        }
+        return value;
+    }
+
+    private static List<SkillRef> parseSkillRefs(JsonNode array) {
+        if (array.isMissingNode() || array.isNull()) return List.of();
+        if (!array.isArray()) throw new IllegalArgumentException("'skills' must be an array");
+
+        List<SkillRef> refs = new ArrayList<>();
+        for (JsonNode item : array) {
+            if (item.isTextual()) {
+                refs.add(new SkillRef(item.asText(), "General"));
+            } else {
+                String name = item.hasNonNull("name") ? item.get("name").asText() : item.path("skillName").asText(null);
+                if (name == null || name.isBlank()) throw new IllegalArgumentException("Skill entry without a name");
+                refs.add(new SkillRef(name, item.path("category").asText("General")));
+            }
+        }
+        return refs;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) root = root.getCause();
+        return root.getMessage();
+    }
+
+    private static final class ImportReport {
+        int imported;
+        int failed;
+        final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void error(int line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(Map.of("line", line, "error", String.valueOf(message)));
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("imported", imported);
+            result.put("failed", failed);
+            result.put("errors", errors);
+            result.put("errors_truncated", failed > errors.size());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.skillsynth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. While CLOSED it tracks the outcome of the last
+ * {@code windowSize} calls and opens once the failure rate reaches the threshold (after at
+ * least {@code minimumCalls}). While OPEN every call is refused until {@code openMillis} has
+ * passed; then up to {@code halfOpenProbes} calls are let through, and the breaker closes if
+ * they all succeed or opens again on the first failure.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private final boolean[] failures;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private long openUntil;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    private long callsRefused;
+    private long timesOpened;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   long openMillis, int halfOpenProbes, LongSupplier clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.clock = clock;
+        this.failures = new boolean[windowSize];
+    }
+
+    /** Whether a call may go out now. Every granted call must be reported exactly once. */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntil) {
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        boolean granted = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probesStarted >= halfOpenProbes) yield false;
+                probesStarted++;
+                yield true;
+            }
+        };
+        if (!granted) callsRefused++;
+        return granted;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && (double) failureCount / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    /** A granted call was abandoned without an outcome (e.g. a cancelled hedge). */
+    synchronized void onCancelled() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntil) return State.HALF_OPEN;
+        return state;
+    }
+
+    synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", getState().name());
+        stats.put("window_calls", recorded);
+        stats.put("window_failures", failureCount);
+        stats.put("calls_refused", callsRefused);
+        stats.put("times_opened", timesOpened);
+        return stats;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (failures[next]) failureCount--;
+        } else {
+            recorded++;
+        }
+        failures[next] = failed;
+        if (failed) failureCount++;
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + openMillis;
+        timesOpened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+    }
+}
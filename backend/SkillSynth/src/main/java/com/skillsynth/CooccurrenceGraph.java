@@ -0,0 +1,140 @@
+package com.skillsynth;
+
+import java.util.*;
+
+/**
+ * Weighted skill co-occurrence graph. Each document (a user's or a project's skill set)
+ * contributes one to the count of every skill it holds and to every pair of those skills;
+ * replacing or removing a document subtracts its old contribution first, so the counts are
+ * maintained incrementally. Edges are scored on demand by Jaccard or normalized PMI, and the
+ * top k per skill are selected with a bounded heap. Not thread-safe: callers guard it (see
+ * SkillCooccurrence).
+ */
+class CooccurrenceGraph {
+
+    enum Scoring { JACCARD, NPMI }
+
+    record Neighbour(long skillId, float score, int count) {}
+
+    // Worst first, so the heap head is the neighbour to drop; ties go to the lower skill id
+    private static final Comparator<Neighbour> WORST_FIRST =
+            Comparator.comparingDouble(Neighbour::score).thenComparing(Neighbour::skillId, Comparator.reverseOrder());
+
+    private final Map<String, long[]> documents = new HashMap<>();
+    private final Map<Long, Integer> skillCounts = new HashMap<>();
+    private final Map<Long, Map<Long, Integer>> pairCounts = new HashMap<>();
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int skillCount(long skillId) {
+        return skillCounts.getOrDefault(skillId, 0);
+    }
+
+    int pairCount(long a, long b) {
+        return pairCounts.getOrDefault(a, Map.of()).getOrDefault(b, 0);
+    }
+
+    void clear() {
+        documents.clear();
+        skillCounts.clear();
+        pairCounts.clear();
+    }
+
+    /** Adds or replaces a document's skill set. */
+    void put(String document, Collection<Long> skillIds) {
+        remove(document);
+        long[] ids = skillIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().sorted().toArray();
+        if (ids.length == 0) return;
+        documents.put(document, ids);
+        apply(ids, 1);
+    }
+
+    boolean remove(String document) {
+        long[] previous = documents.remove(document);
+        if (previous == null) return false;
+        apply(previous, -1);
+        return true;
+    }
+
+    /** Drops a skill from every document that holds it. */
+    void removeSkill(long skillId) {
+        if (!skillCounts.containsKey(skillId)) return;
+        List<String> holding = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : documents.entrySet()) {
+            if (Arrays.binarySearch(entry.getValue(), skillId) >= 0) holding.add(entry.getKey());
+        }
+        for (String document : holding) {
+            long[] remaining = Arrays.stream(documents.get(document)).filter(id -> id != skillId).toArray();
+            put(document, Arrays.stream(remaining).boxed().toList());
+        }
+    }
+
+    /**
+     * The k skills scoring highest against {@code skillId}, best first. Pairs seen together in
+     * fewer than {@code minCount} documents are ignored.
+     */
+    List<Neighbour> neighbours(long skillId, int k, Scoring scoring, int minCount) {
+        Map<Long, Integer> edges = pairCounts.get(skillId);
+        if (edges == null || k <= 0) return List.of();
+        int count = skillCount(skillId);
+        int total = documents.size();
+
+        PriorityQueue<Neighbour> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (Map.Entry<Long, Integer> edge : edges.entrySet()) {
+            int both = edge.getValue();
+            if (both < minCount) continue;
+            int other = skillCount(edge.getKey());
+            float score = scoring == Scoring.NPMI
+                    ? npmi(both, count, other, total)
+                    : jaccard(both, count, other);
+            Neighbour neighbour = new Neighbour(edge.getKey(), score, both);
+            if (heap.size() < k) {
+                heap.add(neighbour);
+            } else if (WORST_FIRST.compare(neighbour, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(neighbour);
+            }
+        }
+
+        List<Neighbour> results = new ArrayList<>(heap);
+        results.sort(WORST_FIRST.reversed());
+        return results;
+    }
+
+    static float jaccard(int both, int a, int b) {
+        int union = a + b - both;
+        return union == 0 ? 0f : (float) both / union;
+    }
+
+    /** Normalized PMI in [-1, 1]: 1 when the skills only ever appear together. */
+    static float npmi(int both, int a, int b, int total) {
+        if (both == 0 || total == 0) return -1f;
+        double pBoth = (double) both / total;
+        if (pBoth >= 1.0) return 1f;
+        double pmi = Math.log(pBoth / (((double) a / total) * ((double) b / total)));
+        return (float) (pmi / -Math.log(pBoth));
+    }
+
+    private void apply(long[] ids, int delta) {
+        for (int i = 0; i < ids.length; i++) {
+            adjust(skillCounts, ids[i], delta);
+            for (int j = i + 1; j < ids.length; j++) {
+                adjust(pairCounts.computeIfAbsent(ids[i], k -> new HashMap<>()), ids[j], delta);
+                adjust(pairCounts.computeIfAbsent(ids[j], k -> new HashMap<>()), ids[i], delta);
+            }
+            Map<Long, Integer> edges = pairCounts.get(ids[i]);
+            if (edges != null && edges.isEmpty()) pairCounts.remove(ids[i]);
+        }
+    }
+
+    private static void adjust(Map<Long, Integer> counts, long key, int delta) {
+        int next = counts.getOrDefault(key, 0) + delta;
+        if (next <= 0) {
+            counts.remove(key);
+        } else {
+            counts.put(key, next);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.skillsynth;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Canonical form of a /get_project request: sorted, case-normalized skill names plus time
+ * availability and experience level. Requests that mean the same thing get equal keys,
+ * whatever order or casing the skills arrived in.
+ */
+public record GenerationKey(List<String> mainSkills, int timeAvailability, int experienceLevel) {
+
+    private static final Set<String> REQUEST_FIELDS = Set.of("main_skills", "time_availability", "experience_level");
+
+    public static GenerationKey of(List<String> mainSkills, int timeAvailability, int experienceLevel) {
+        List<String> names = mainSkills.stream().map(SkillEmbedder::normalize).distinct().sorted().toList();
+        return new GenerationKey(names, timeAvailability, experienceLevel);
+    }
+
+    /**
+     * Key for a raw /get_project request body, or null when it carries anything beyond the
+     * three known fields (two such requests may not mean the same thing).
+     */
+    public static GenerationKey of(Map<String, Object> request) {
+        if (request == null || !REQUEST_FIELDS.containsAll(request.keySet())) return null;
+        if (!(request.get("main_skills") instanceof List<?> skills)
+                || !(request.get("time_availability") instanceof Number time)
+                || !(request.get("experience_level") instanceof Number level)) {
+            return null;
+        }
+        return of(skills.stream().map(String::valueOf).toList(), time.intValue(), level.intValue());
+    }
+
+    /** Stable string form, used as the database cache key. */
+    public String canonical() {
+        return String.join(",", mainSkills) + "|" + timeAvailability + "|" + experienceLevel;
+    }
+}
@@ -0,0 +1,286 @@
+package com.skillsynth;
+
+import java.util.*;
+
+/**
+ * Hierarchical Navigable Small World graph over unit-length float vectors.
+ * Similarity is the dot product, so callers must normalize vectors before adding or querying.
+ * Removed keys are tombstoned and skipped in results; the graph is rebuilt once tombstones
+ * outnumber live nodes. Not thread-safe: callers guard it (see SkillVectorIndex).
+ */
+class HnswIndex {
+
+    record Neighbour(long key, float score) {}
+
+    private record Scored(int node, float score) {}
+
+    private static final class Node {
+        final long key;
+        final float[] vector;
+        final int[][] links;
+        final int[] linkCounts;
+        boolean deleted;
+
+        Node(long key, float[] vector, int level, int m) {
+            this.key = key;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.linkCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[(l == 0 ? 2 * m : m) + 1];
+            }
+        }
+
+        int level() {
+            return links.length - 1;
+        }
+    }
+
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private List<Node> nodes = new ArrayList<>();
+    private Map<Long, Integer> nodeByKey = new HashMap<>();
+    private int entryPoint = -1;
+    private int deletedCount = 0;
+
+    HnswIndex(int dimensions, int m, int efConstruction, int efSearch, long seed) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new Random(seed);
+    }
+
+    int size() {
+        return nodeByKey.size();
+    }
+
+    boolean contains(long key) {
+        return nodeByKey.containsKey(key);
+    }
+
+    float[] vector(long key) {
+        Integer node = nodeByKey.get(key);
+        return node == null ? null : nodes.get(node).vector;
+    }
+
+    void add(long key, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+        remove(key);
+        insert(key, vector);
+    }
+
+    boolean remove(long key) {
+        Integer node = nodeByKey.remove(key);
+        if (node == null) return false;
+
+        nodes.get(node).deleted = true;
+        deletedCount++;
+        if (deletedCount > nodeByKey.size()) {
+            rebuild();
+        }
+        return true;
+    }
+
+    void clear() {
+        nodes = new ArrayList<>();
+        nodeByKey = new HashMap<>();
+        entryPoint = -1;
+        deletedCount = 0;
+    }
+
+    /** Returns the k most similar live keys, best first, skipping {@code excludeKey}. */
+    List<Neighbour> search(float[] query, int k, long excludeKey) {
+        if (entryPoint < 0 || k <= 0) return List.of();
+
+        int ep = entryPoint;
+        for (int level = nodes.get(entryPoint).level(); level > 0; level--) {
+            ep = greedyClosest(query, ep, level);
+        }
+
+        // Over-fetch to make room for the excluded key and tombstones
+        int ef = Math.max(efSearch, k + 1);
+        List<Scored> found = searchLayer(query, List.of(ep), ef, 0);
+
+        List<Neighbour> result = new ArrayList<>(k);
+        for (Scored s : found) {
+            Node node = nodes.get(s.node());
+            if (node.deleted || node.key == excludeKey) continue;
+            result.add(new Neighbour(node.key, s.score()));
+            if (result.size() == k) break;
+        }
+        return result;
+    }
+
+    // -------------------- Construction --------------------
+
+    private void insert(long key, float[] vector) {
+        int level = (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        int id = nodes.size();
+        Node node = new Node(key, vector, level, m);
+        nodes.add(node);
+        nodeByKey.put(key, id);
+
+        if (entryPoint < 0) {
+            entryPoint = id;
+            return;
+        }
+
+        int ep = entryPoint;
+        int topLevel = nodes.get(entryPoint).level();
+        for (int l = topLevel; l > level; l--) {
+            ep = greedyClosest(vector, ep, l);
+        }
+
+        List<Integer> entryPoints = List.of(ep);
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            List<Scored> candidates = searchLayer(vector, entryPoints, efConstruction, l);
+            List<Scored> selected = selectNeighbours(candidates, m);
+            for (Scored neighbour : selected) {
+                link(id, neighbour.node(), l);
+                link(neighbour.node(), id, l);
+            }
+            entryPoints = candidates.stream().map(Scored::node).toList();
+        }
+
+        if (level > topLevel) {
+            entryPoint = id;
+        }
+    }
+
+    /** Keeps candidates that are closer to the base than to any already selected neighbour. */
+    private List<Scored> selectNeighbours(List<Scored> candidates, int max) {
+        List<Scored> selected = new ArrayList<>(max);
+        List<Scored> skipped = new ArrayList<>();
+        for (Scored candidate : candidates) {
+            if (selected.size() >= max) break;
+            float[] vector = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (Scored chosen : selected) {
+                if (dot(vector, nodes.get(chosen.node()).vector) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) selected.add(candidate);
+            else skipped.add(candidate);
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < max; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private void link(int from, int to, int level) {
+        Node node = nodes.get(from);
+        int[] links = node.links[level];
+        int count = node.linkCounts[level];
+        for (int i = 0; i < count; i++) {
+            if (links[i] == to) return;
+        }
+        links[count] = to;
+        node.linkCounts[level] = ++count;
+
+        int max = level == 0 ? 2 * m : m;
+        if (count > max) {
+            List<Scored> scored = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                scored.add(new Scored(links[i], dot(node.vector, nodes.get(links[i]).vector)));
+            }
+            scored.sort(Comparator.comparingDouble(Scored::score).reversed());
+            List<Scored> kept = selectNeighbours(scored, max);
+            for (int i = 0; i < kept.size(); i++) {
+                links[i] = kept.get(i).node();
+            }
+            node.linkCounts[level] = kept.size();
+        }
+    }
+
+    private void rebuild() {
+        List<Node> live = nodes.stream().filter(n -> !n.deleted).toList();
+        clear();
+        for (Node node : live) {
+            insert(node.key, node.vector);
+        }
+    }
+
+    // -------------------- Search --------------------
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = dot(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.linkCounts[level]; i++) {
+                int next = node.links[level][i];
+                float score = dot(query, nodes.get(next).vector);
+                if (score > best) {
+                    best = score;
+                    current = next;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Beam search within one layer; returns up to ef nodes ordered best first. */
+    private List<Scored> searchLayer(float[] query, List<Integer> entryPoints, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Scored> candidates =
+                new PriorityQueue<>(Comparator.comparingDouble(Scored::score).reversed());
+        PriorityQueue<Scored> results =
+                new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+
+        for (int ep : entryPoints) {
+            if (visited.get(ep)) continue;
+            visited.set(ep);
+            Scored scored = new Scored(ep, dot(query, nodes.get(ep).vector));
+            candidates.add(scored);
+            results.add(scored);
+            if (results.size() > ef) results.poll();
+        }
+
+        while (!candidates.isEmpty()) {
+            Scored current = candidates.poll();
+            if (results.size() >= ef && current.score() < results.peek().score()) break;
+
+            Node node = nodes.get(current.node());
+            for (int i = 0; i < node.linkCounts[level]; i++) {
+                int next = node.links[level][i];
+                if (visited.get(next)) continue;
+                visited.set(next);
+
+                float score = dot(query, nodes.get(next).vector);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Scored scored = new Scored(next, score);
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+
+        List<Scored> ordered = new ArrayList<>(results);
+        ordered.sort(Comparator.comparingDouble(Scored::score).reversed());
+        return ordered;
+    }
+
+    static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
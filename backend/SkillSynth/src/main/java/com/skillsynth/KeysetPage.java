@@ -0,0 +1,41 @@
+package com.skillsynth;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset (cursor) pagination on list endpoints. Pages are ordered by id and the
+ * cursor is the last id of the previous page. The body stays a plain JSON array, and the next
+ * cursor goes in the X-Next-Cursor header, which is omitted on the last page.
+ */
+public final class KeysetPage {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private KeysetPage() {}
+
+    public static boolean requested(Long after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    public static long after(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    public static int limit(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static <T> ResponseEntity<List<T>> of(List<T> items, int limit, Function<T, Long> idOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(idOf.apply(items.get(items.size() - 1))));
+        }
+        return response.body(items);
+    }
+}
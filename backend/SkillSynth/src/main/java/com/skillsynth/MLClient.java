@@ -0,0 +1,445 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * The one HTTP client for the FastAPI ML service. Built on a single JDK HttpClient, which
+ * keeps a pool of keep-alive connections shared by every caller (and can speak HTTP/2 with
+ * {@code ml.client.http2=true}). Each endpoint has its own request timeout, since an LLM
+ * project generation legitimately takes far longer than a similarity lookup.
+ * <p>
+ * Every call exists in a blocking form and a CompletableFuture form; the async form never
+ * ties up a caller thread while the request is in flight.
+ * <p>
+ * Calls are guarded per endpoint: a circuit breaker refuses calls outright while the
+ * endpoint is failing, the timeout shrinks to what is left of the inbound request's
+ * RequestDeadline, and the idempotent lookups (/grab_relevant_skills, /find_teammates) send
+ * a second, hedged request when the first has not answered within {@code ml.hedge.delay-ms}.
+ * <p>
+ * Identical concurrent /get_project and /grab_relevant_skills requests are coalesced: callers
+ * asking for the same normalized request while one is in flight share its result. The shared
+ * call runs under the first caller's deadline, so a joiner with a longer budget can still see
+ * it fail with deadline_exceeded or a timeout.
+ * <p>
+ * Every call is timed as ml.client.requests, tagged with the endpoint and its outcome
+ * (success, client_error, server_error, timeout, deadline_exceeded, circuit_open, ...).
+ */
+@Component
+public class MLClient {
+
+    public enum Endpoint {
+        GRAB_RELEVANT_SKILLS("/grab_relevant_skills"),
+        GET_PROJECT("/get_project"),
+        UPLOAD_USERS("/upload_users"),
+        FIND_TEAMMATES("/find_teammates"),
+        PROCESS_AND_UPLOAD_SKILLS("/process_and_upload_skills"),
+        FETCH_SKILL_EMBEDDINGS("/fetch_skill_embeddings");
+
+        private final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        /** Metric tag value: the path without its slash, e.g. get_project. */
+        public String tag() {
+            return path.substring(1);
+        }
+    }
+
+    /** Non-2xx answer, timeout, transport failure or refused call for the ML service. */
+    public static class MLClientException extends RuntimeException {
+        private final Endpoint endpoint;
+        private final int status;
+
+        public MLClientException(Endpoint endpoint, int status, String message, Throwable cause) {
+            super("ML " + endpoint.path() + " failed: " + message, cause);
+            this.endpoint = endpoint;
+            this.status = status;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        /** HTTP status, or 0 when no response arrived. */
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    /** Refused without sending: the endpoint's circuit breaker is open. */
+    public static class CircuitOpenException extends MLClientException {
+        public CircuitOpenException(Endpoint endpoint) {
+            super(endpoint, 0, "circuit breaker open", null);
+        }
+    }
+
+    // Safe to send twice: pure lookups with no side effects on the ML side
+    private static final Set<Endpoint> HEDGEABLE = EnumSet.of(Endpoint.GRAB_RELEVANT_SKILLS, Endpoint.FIND_TEAMMATES);
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    // Single-flight key for /grab_relevant_skills; /get_project uses GenerationKey
+    private record RelevantSkillsKey(String mainSkill, int topK) {}
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService callbackExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Map<Endpoint, Duration> timeouts = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, CircuitBreaker> breakers = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> hedgesSent = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> hedgesWon = new EnumMap<>(Endpoint.class);
+    private final SingleFlight<GenerationKey, Map<String, Object>> projectFlights = new SingleFlight<>();
+    private final SingleFlight<RelevantSkillsKey, Map<String, Object>> relevantSkillsFlights = new SingleFlight<>();
+    private final boolean hedgeEnabled;
+    private final long hedgeDelayMs;
+
+    public MLClient(ObjectMapper objectMapper,
+                    MeterRegistry meterRegistry,
+                    @Value("${ml.api.base-url:http://localhost:8000}") String baseUrl,
+                    @Value("${ml.client.http2:false}") boolean http2,
+                    @Value("${ml.client.connect-timeout-ms:2000}") long connectTimeoutMs,
+                    @Value("${ml.client.timeout.grab-relevant-skills-ms:5000}") long grabRelevantSkillsMs,
+                    @Value("${ml.client.timeout.get-project-ms:60000}") long getProjectMs,
+                    @Value("${ml.client.timeout.upload-users-ms:30000}") long uploadUsersMs,
+                    @Value("${ml.client.timeout.find-teammates-ms:5000}") long findTeammatesMs,
+                    @Value("${ml.client.timeout.process-and-upload-skills-ms:30000}") long processAndUploadSkillsMs,
+                    @Value("${ml.client.timeout.fetch-skill-embeddings-ms:30000}") long fetchSkillEmbeddingsMs,
+                    @Value("${ml.breaker.window-size:20}") int breakerWindow,
+                    @Value("${ml.breaker.minimum-calls:10}") int breakerMinimumCalls,
+                    @Value("${ml.breaker.failure-rate:0.5}") double breakerFailureRate,
+                    @Value("${ml.breaker.open-ms:10000}") long breakerOpenMs,
+                    @Value("${ml.breaker.half-open-probes:2}") int breakerProbes,
+                    @Value("${ml.hedge.enabled:true}") boolean hedgeEnabled,
+                    @Value("${ml.hedge.delay-ms:300}") long hedgeDelayMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        // Pool size and idle keep-alive are JDK-wide: jdk.httpclient.connectionPoolSize and
+        // jdk.httpclient.keepalive.timeout system properties
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(callbackExecutor)
+                .build();
+        timeouts.put(Endpoint.GRAB_RELEVANT_SKILLS, Duration.ofMillis(grabRelevantSkillsMs));
+        timeouts.put(Endpoint.GET_PROJECT, Duration.ofMillis(getProjectMs));
+        timeouts.put(Endpoint.UPLOAD_USERS, Duration.ofMillis(uploadUsersMs));
+        timeouts.put(Endpoint.FIND_TEAMMATES, Duration.ofMillis(findTeammatesMs));
+        timeouts.put(Endpoint.PROCESS_AND_UPLOAD_SKILLS, Duration.ofMillis(processAndUploadSkillsMs));
+        timeouts.put(Endpoint.FETCH_SKILL_EMBEDDINGS, Duration.ofMillis(fetchSkillEmbeddingsMs));
+        for (Endpoint endpoint : Endpoint.values()) {
+            breakers.put(endpoint, new CircuitBreaker(breakerWindow, breakerMinimumCalls, breakerFailureRate,
+                    breakerOpenMs, breakerProbes, System::currentTimeMillis));
+            hedgesSent.put(endpoint, new AtomicLong());
+            hedgesWon.put(endpoint, new AtomicLong());
+        }
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeDelayMs = hedgeDelayMs;
+        registerMeters();
+    }
+
+    private void registerMeters() {
+        Gauge.builder("ml.client.single_flight.in_flight", projectFlights, SingleFlight::inFlightCount)
+                .description("Distinct ML requests in flight that identical callers can join")
+                .tag("endpoint", Endpoint.GET_PROJECT.tag())
+                .register(meterRegistry);
+        Gauge.builder("ml.client.single_flight.in_flight", relevantSkillsFlights, SingleFlight::inFlightCount)
+                .description("Distinct ML requests in flight that identical callers can join")
+                .tag("endpoint", Endpoint.GRAB_RELEVANT_SKILLS.tag())
+                .register(meterRegistry);
+        for (Endpoint endpoint : HEDGEABLE) {
+            FunctionCounter.builder("ml.client.hedges.sent", hedgesSent.get(endpoint), AtomicLong::get)
+                    .tag("endpoint", endpoint.tag())
+                    .register(meterRegistry);
+            FunctionCounter.builder("ml.client.hedges.won", hedgesWon.get(endpoint), AtomicLong::get)
+                    .tag("endpoint", endpoint.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /* ==============================
+       TYPED CALLS
+    ============================== */
+
+    public Map<String, Object> grabRelevantSkills(String mainSkill, int topK) {
+        return await(grabRelevantSkillsAsync(mainSkill, topK));
+    }
+
+    public CompletableFuture<Map<String, Object>> grabRelevantSkillsAsync(String mainSkill, int topK) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("main_skill", mainSkill);
+        body.put("top_k", topK);
+        RelevantSkillsKey key = new RelevantSkillsKey(SkillEmbedder.normalize(mainSkill), topK);
+        return relevantSkillsFlights.run(key, () -> postAsync(Endpoint.GRAB_RELEVANT_SKILLS, body));
+    }
+
+    public Map<String, Object> getProject(List<String> mainSkills, int timeAvailability, int experienceLevel) {
+        return await(getProjectAsync(mainSkills, timeAvailability, experienceLevel));
+    }
+
+    public CompletableFuture<Map<String, Object>> getProjectAsync(List<String> mainSkills, int timeAvailability,
+                                                                  int experienceLevel) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("main_skills", mainSkills);
+        body.put("time_availability", timeAvailability);
+        body.put("experience_level", experienceLevel);
+        return getProjectAsync(body);
+    }
+
+    /** Passes a caller-built /get_project request through unchanged. */
+    public Map<String, Object> getProject(Map<String, Object> request) {
+        return await(getProjectAsync(request));
+    }
+
+    public CompletableFuture<Map<String, Object>> getProjectAsync(Map<String, Object> request) {
+        GenerationKey key = GenerationKey.of(request);
+        if (key == null) return postAsync(Endpoint.GET_PROJECT, request);
+        return projectFlights.run(key, () -> postAsync(Endpoint.GET_PROJECT, request));
+    }
+
+    public Map<String, Object> uploadUsers(List<Map<String, Object>> users) {
+        return await(uploadUsersAsync(users));
+    }
+
+    public CompletableFuture<Map<String, Object>> uploadUsersAsync(List<Map<String, Object>> users) {
+        return postAsync(Endpoint.UPLOAD_USERS, Map.of("users", users));
+    }
+
+    public Map<String, Object> findTeammates(Map<String, Object> user, int topK) {
+        return await(findTeammatesAsync(user, topK));
+    }
+
+    public CompletableFuture<Map<String, Object>> findTeammatesAsync(Map<String, Object> user, int topK) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("user", user);
+        body.put("top_k", topK);
+        return postAsync(Endpoint.FIND_TEAMMATES, body);
+    }
+
+    public Map<String, Object> processAndUploadSkills(Map<String, List<String>> skillsByCategory) {
+        return await(processAndUploadSkillsAsync(skillsByCategory));
+    }
+
+    public CompletableFuture<Map<String, Object>> processAndUploadSkillsAsync(Map<String, List<String>> skillsByCategory) {
+        return postAsync(Endpoint.PROCESS_AND_UPLOAD_SKILLS, skillsByCategory);
+    }
+
+    /** Stored skill vectors by name; skills the ML service has not embedded yet are absent. */
+    public Map<String, Object> fetchSkillEmbeddings(Collection<String> skillNames) {
+        return await(postAsync(Endpoint.FETCH_SKILL_EMBEDDINGS, Map.of("skills", skillNames)));
+    }
+
+    /* ==============================
+       TRANSPORT
+    ============================== */
+
+    public Duration getTimeout(Endpoint endpoint) {
+        return timeouts.get(endpoint);
+    }
+
+    /** POSTs a JSON body and completes with the decoded JSON object (empty map for no body). */
+    public CompletableFuture<Map<String, Object>> postAsync(Endpoint endpoint, Object body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Map<String, Object>> result = send(endpoint, body);
+        result.whenComplete((value, error) -> sample.stop(Timer.builder("ml.client.requests")
+                .description("Calls to the ML service; a hedged call is timed once, to its first success")
+                .tag("endpoint", endpoint.tag())
+                .tag("outcome", outcome(error))
+                .register(meterRegistry)));
+        return result;
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) return "success";
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) return "cancelled";
+        if (cause instanceof CircuitOpenException) return "circuit_open";
+        if (!(cause instanceof MLClientException failure)) return "error";
+        if (failure.getStatus() >= 500) return "server_error";
+        if (failure.getStatus() >= 400) return "client_error";
+        if (failure.getStatus() != 0) return "invalid_response";
+        if (failure.getCause() instanceof HttpTimeoutException) return "timeout";
+        if (failure.getCause() instanceof JsonProcessingException) return "invalid_request";
+        if (failure.getCause() == null) return "deadline_exceeded";
+        return "transport_error";
+    }
+
+    private CompletableFuture<Map<String, Object>> send(Endpoint endpoint, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new MLClientException(endpoint, 0, "unserializable request", e));
+        }
+
+        // Read on the caller's thread: the deadline belongs to the request it is serving
+        Duration timeout = timeouts.get(endpoint);
+        Optional<Duration> budget = RequestDeadline.remaining();
+        if (budget.isPresent()) {
+            if (budget.get().toMillis() <= 0) {
+                return CompletableFuture.failedFuture(
+                        new MLClientException(endpoint, 0, "request deadline exceeded", null));
+            }
+            if (budget.get().compareTo(timeout) < 0) timeout = budget.get();
+        }
+
+        if (hedgeEnabled && HEDGEABLE.contains(endpoint) && hedgeDelayMs < timeout.toMillis()) {
+            return hedged(endpoint, json, timeout);
+        }
+        return attempt(endpoint, json, timeout);
+    }
+
+    private CompletableFuture<Map<String, Object>> attempt(Endpoint endpoint, byte[] json, Duration timeout) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(endpoint));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path()))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header(RequestDeadline.HEADER, String.valueOf(timeout.toMillis()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+
+        CompletableFuture<HttpResponse<byte[]>> sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<Map<String, Object>> result = sent.handle((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                if (cause instanceof CancellationException) breaker.onCancelled();
+                else breaker.onFailure();
+                throw new MLClientException(endpoint, 0, String.valueOf(cause.getMessage()), cause);
+            }
+            // 4xx means a bad request from us, not an unhealthy ML service
+            if (response.statusCode() >= 500) breaker.onFailure();
+            else breaker.onSuccess();
+            return decode(endpoint, response);
+        });
+        // Cancelling the result (a losing hedge) aborts the HTTP exchange
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) sent.cancel(true);
+        });
+        return result;
+    }
+
+    /**
+     * Sends the request, and a second copy if the first is still pending after the hedge
+     * delay. The first success wins and the other attempt is cancelled; the call fails only
+     * when every attempt sent has failed.
+     */
+    private CompletableFuture<Map<String, Object>> hedged(Endpoint endpoint, byte[] json, Duration timeout) {
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        List<CompletableFuture<Map<String, Object>>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        long started = System.nanoTime();
+
+        BiConsumer<CompletableFuture<Map<String, Object>>, Boolean> track = (attempt, isHedge) -> {
+            attempts.add(attempt);
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (result.complete(value) && isHedge) hedgesWon.get(endpoint).incrementAndGet();
+                } else if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            });
+        };
+        track.accept(attempt(endpoint, json, timeout), false);
+
+        CompletableFuture.runAsync(() -> {
+            Duration left = timeout.minusNanos(System.nanoTime() - started);
+            if (result.isDone() || left.toMillis() <= 0) return;
+            outstanding.incrementAndGet();
+            hedgesSent.get(endpoint).incrementAndGet();
+            track.accept(attempt(endpoint, json, left), true);
+        }, CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS, callbackExecutor));
+
+        result.whenComplete((value, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            Map<String, Object> endpointStats = breakers.get(endpoint).getStats();
+            endpointStats.put("timeout_ms", timeouts.get(endpoint).toMillis());
+            if (HEDGEABLE.contains(endpoint)) {
+                endpointStats.put("hedges_sent", hedgesSent.get(endpoint).get());
+                endpointStats.put("hedges_won", hedgesWon.get(endpoint).get());
+            }
+            if (endpoint == Endpoint.GET_PROJECT) {
+                endpointStats.put("single_flight", projectFlights.getStats());
+            } else if (endpoint == Endpoint.GRAB_RELEVANT_SKILLS) {
+                endpointStats.put("single_flight", relevantSkillsFlights.getStats());
+            }
+            stats.put(endpoint.path(), endpointStats);
+        }
+        return stats;
+    }
+
+    private Map<String, Object> decode(Endpoint endpoint, HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+        if (response.statusCode() / 100 != 2) {
+            String text = body == null ? "" : new String(body, 0, Math.min(body.length, 500));
+            throw new MLClientException(endpoint, response.statusCode(), "HTTP " + response.statusCode() + " " + text, null);
+        }
+        if (body == null || body.length == 0) return new HashMap<>();
+        try {
+            return objectMapper.readValue(body, JSON_OBJECT);
+        } catch (IOException e) {
+            throw new MLClientException(endpoint, response.statusCode(), "invalid JSON response", new UncheckedIOException(e));
+        }
+    }
+
+    // Blocking form: rethrows the MLClientException instead of a wrapper
+    private static Map<String, Object> await(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.shutdownNow();
+        callbackExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,78 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes ML sync work into the ml_outbox table inside the caller's transaction, so an entity
+ * and its pending upload commit (or roll back) together. MLOutboxRelay delivers the rows.
+ */
+@Component
+public class MLOutbox {
+
+    private final SkillSynthOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public MLOutbox(SkillSynthOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUser(AppUser user) {
+        outboxRepository.save(new MLOutboxEvent(MLOutboxEvent.USER, user.getId(), toJson(userPayload(user))));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueSkill(Skill skill) {
+        outboxRepository.save(new MLOutboxEvent(MLOutboxEvent.SKILL, skill.getId(), toJson(skillPayload(skill))));
+    }
+
+    // Hours per week the ML service assumes for a user of this level
+    public static int timeAvailability(int userLevel) {
+        return Math.min(20, Math.max(1, userLevel * 2));
+    }
+
+    public static Map<String, Object> userPayload(AppUser user) {
+        Map<String, Integer> skillsMap = new HashMap<>();
+        for (Skill skill : user.getAllSkills()) {
+            skillsMap.put(skill.getName(), skill.getLevel());
+        }
+        return userPayload(user.getId(), skillsMap, user.getLevel());
+    }
+
+    // Shape of one entry in the ML API's UploadUsersRequest.users
+    public static Map<String, Object> userPayload(Long userId, Map<String, Integer> skillLevels, int userLevel) {
+        Map<String, Object> mlUser = new HashMap<>();
+        mlUser.put("id", userId.toString());
+        mlUser.put("skills", skillLevels);
+        mlUser.put("time_availability", timeAvailability(userLevel));
+        return mlUser;
+    }
+
+    public static Map<String, List<String>> skillPayload(Skill skill) {
+        return skillPayload(skill.getName(), skill.getCategory());
+    }
+
+    // Shape of the /process_and_upload_skills body: category -> skill names
+    public static Map<String, List<String>> skillPayload(String name, String category) {
+        Map<String, List<String>> skillPayload = new HashMap<>();
+        skillPayload.put(category != null ? category : "General", List.of(name));
+        return skillPayload;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ML outbox payload", e);
+        }
+    }
+}
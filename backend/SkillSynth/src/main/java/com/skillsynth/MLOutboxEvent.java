@@ -0,0 +1,72 @@
+package com.skillsynth;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "ml_outbox", indexes = {
+        @Index(name = "idx_ml_outbox_due", columnList = "nextAttemptAt, id"),
+        @Index(name = "idx_ml_outbox_aggregate", columnList = "aggregateType, aggregateId, id")
+})
+public class MLOutboxEvent {
+
+    public static final String USER = "USER";
+    public static final String SKILL = "SKILL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // === Constructors ===
+    public MLOutboxEvent() {}
+
+    public MLOutboxEvent(String aggregateType, Long aggregateId, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+        this.attempts = 0;
+    }
+
+    // === Getters and Setters ===
+    public Long getId() { return id; }
+
+    public String getAggregateType() { return aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public String getPayload() { return payload; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
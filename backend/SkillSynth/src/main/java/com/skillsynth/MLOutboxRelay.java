@@ -0,0 +1,121 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drains ml_outbox to the ML service through MLUploadCoalescer, which merges events into
+ * batched requests. Events for the same entity are delivered in insertion order: the due
+ * query holds back later events while an earlier one is waiting on a retry. Failed events
+ * are retried with capped exponential backoff and are never dropped, so the Pinecone
+ * indexes converge once the ML service is reachable again.
+ */
+@Component
+public class MLOutboxRelay {
+
+    private final SkillSynthOutboxRepository outboxRepository;
+    private final MLUploadCoalescer coalescer;
+    private final ObjectMapper objectMapper;
+
+    // Events handed to the coalescer but not yet acknowledged
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${ml.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ml.outbox.base-backoff-ms:1000}")
+    private long baseBackoffMs;
+
+    @Value("${ml.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    public MLOutboxRelay(SkillSynthOutboxRepository outboxRepository,
+                         MLUploadCoalescer coalescer,
+                         ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.coalescer = coalescer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(fixedDelayString = "${ml.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        List<MLOutboxEvent> batch = outboxRepository.findDueBatch(
+                Instant.now(), PageRequest.of(0, batchSize + inFlight.size()));
+
+        int dispatched = 0;
+        for (MLOutboxEvent event : batch) {
+            if (dispatched == batchSize) break;
+            if (!inFlight.add(event.getId())) continue;
+
+            dispatch(event).whenComplete((ok, error) -> {
+                try {
+                    if (error == null) {
+                        outboxRepository.deleteDelivered(event.getAggregateType(), event.getAggregateId(), event.getId());
+                    } else {
+                        markFailed(event, error);
+                    }
+                } finally {
+                    inFlight.remove(event.getId());
+                }
+            });
+            dispatched++;
+        }
+
+        if (dispatched > 0) {
+            System.out.println(" ML outbox dispatched " + dispatched + " event(s)");
+        }
+    }
+
+    private CompletableFuture<Void> dispatch(MLOutboxEvent event) {
+        try {
+            return switch (event.getAggregateType()) {
+                case MLOutboxEvent.USER -> coalescer.uploadUser(
+                        objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {}));
+                case MLOutboxEvent.SKILL -> coalescer.uploadSkills(
+                        objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, List<String>>>() {}));
+                default -> throw new IllegalStateException("Unknown outbox aggregate type: " + event.getAggregateType());
+            };
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void markFailed(MLOutboxEvent event, Throwable e) {
+        int attempts = event.getAttempts() + 1;
+        long backoff = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 20));
+        String message = String.valueOf(e.getMessage());
+        outboxRepository.markFailed(event.getId(), attempts, Instant.now().plusMillis(backoff),
+                message.length() > 1000 ? message.substring(0, 1000) : message);
+        System.err.println(" ML outbox delivery failed for " + event.getAggregateType() + " "
+                + event.getAggregateId() + " (attempt " + attempts + "): " + message);
+    }
+
+    public long getPendingCount() {
+        return outboxRepository.count();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", getPendingCount());
+        stats.put("in_flight", getInFlightCount());
+        stats.put("oldest_pending_age_ms", outboxRepository.findFirstByOrderByIdAsc()
+                .map(e -> Duration.between(e.getCreatedAt(), Instant.now()).toMillis())
+                .orElse(0L));
+        stats.put("coalescer", coalescer.getStats());
+        return stats;
+    }
+}
@@ -1,93 +1,80 @@
 package com.skillsynth;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
 import java.util.*;
 
 @Service
 public class MLService {
     
-    private final RestTemplate restTemplate;
-    private final String mlApiBaseUrl = "http://localhost:8000";
+    private final MLClient mlClient;
+    private final SkillVectorIndex skillVectorIndex;
+    private final TeammateMatcher teammateMatcher;
+    private final TeammateRecommendations teammateRecommendations;
+    private final SkillCooccurrence skillCooccurrence;
+    private final double cooccurrenceBlendWeight;
     
-    public MLService() {
-        this.restTemplate = new RestTemplate();
+    public MLService(MLClient mlClient, SkillVectorIndex skillVectorIndex, TeammateMatcher teammateMatcher,
+                     TeammateRecommendations teammateRecommendations, SkillCooccurrence skillCooccurrence,
+                     @Value("${skills.cooccurrence.blend-weight:0}") double cooccurrenceBlendWeight) {
+        this.mlClient = mlClient;
+        this.skillVectorIndex = skillVectorIndex;
+        this.teammateMatcher = teammateMatcher;
+        this.teammateRecommendations = teammateRecommendations;
+        this.skillCooccurrence = skillCooccurrence;
+        this.cooccurrenceBlendWeight = cooccurrenceBlendWeight;
     }
     
-    // Get relevant skills for a skill
+    // Get relevant skills for a skill (served from the embedded index, ML service on a miss),
+    // blended with co-occurrence scores when skills.cooccurrence.blend-weight is above 0
     public Map<String, Object> getRelevantSkills(String mainSkill, int topK) {
-        String url = mlApiBaseUrl + "/grab_relevant_skills";
-        
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("main_skill", mainSkill);
-        requestBody.put("top_k", topK);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        
-        ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
-        return response.getBody();
+        Optional<Map<String, Object>> local = skillVectorIndex.findRelevant(mainSkill, topK);
+        Map<String, Object> relevant = local.isPresent() ? local.get() : mlClient.grabRelevantSkills(mainSkill, topK);
+        if (cooccurrenceBlendWeight > 0) {
+            return skillCooccurrence.blend(relevant, mainSkill, topK, cooccurrenceBlendWeight);
+        }
+        return relevant;
     }
     
     // Generate a project
     public Map<String, Object> generateProject(List<String> mainSkills, int timeAvailability, int experienceLevel) {
-        String url = mlApiBaseUrl + "/get_project";
-        
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("main_skills", mainSkills);
-        requestBody.put("time_availability", timeAvailability);
-        requestBody.put("experience_level", experienceLevel);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        
-        ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
-        return response.getBody();
+        return mlClient.getProject(mainSkills, timeAvailability, experienceLevel);
     }
     
     // Process and upload skills to ML API
     public Map<String, Object> processAndUploadSkills(Map<String, List<String>> skills) {
-        String url = mlApiBaseUrl + "/process_and_upload_skills";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, List<String>>> entity = new HttpEntity<>(skills, headers);
-        
-        ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
-        return response.getBody();
+        return mlClient.processAndUploadSkills(skills);
     }
     
     // Upload users for teammate matching
     public Map<String, Object> uploadUsers(List<Map<String, Object>> users) {
-        String url = mlApiBaseUrl + "/upload_users";
-        
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("users", users);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        
-        ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
-        return response.getBody();
+        return mlClient.uploadUsers(users);
     }
     
-    // Find teammates for a user
+    // Find teammates for a user: a stored user's precomputed list, else matched in-process
+    // from the payload, else the ML service while the matcher is not ready
     public Map<String, Object> findTeammates(Map<String, Object> user, int topK) {
-        String url = mlApiBaseUrl + "/find_teammates";
-        
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("user", user);
-        requestBody.put("top_k", topK);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        
-        ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
-        return response.getBody();
+        Long storedId = storedUserId(user);
+        if (storedId != null) {
+            Optional<Map<String, Object>> precomputed = teammateRecommendations.findTeammates(storedId, topK);
+            if (precomputed.isPresent()) {
+                return precomputed.get();
+            }
+        }
+        Optional<Map<String, Object>> local = teammateMatcher.findTeammates(user, topK);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        return mlClient.findTeammates(user, topK);
     }
-}
\ No newline at end of file
+
+    private static Long storedUserId(Map<String, Object> user) {
+        Object id = user != null ? user.get("id") : null;
+        if (id == null) return null;
+        try {
+            return Long.parseLong(id.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
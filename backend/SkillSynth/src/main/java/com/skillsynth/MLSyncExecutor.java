@@ -0,0 +1,148 @@
+package com.skillsynth;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single shared dispatcher for background ML sync work. Tasks run on a fixed number of
+ * virtual-thread workers behind a bounded queue; when the queue is full the configured
+ * rejection policy (abort, caller-runs, discard, discard-oldest) applies. The default,
+ * discard-oldest, drops the stalest sync and logs it, so a full queue never blocks the HTTP
+ * thread that submitted the work; caller-runs would run a slow ML call on that thread.
+ */
+@Component
+public class MLSyncExecutor {
+
+    // Queued form of a task, named so a dropped one can be logged
+    private record SyncTask(String name, Runnable body) implements Runnable {
+        @Override
+        public void run() {
+            body.run();
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final long shutdownTimeoutSeconds;
+    private final String rejectionPolicy;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalQueueWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    public MLSyncExecutor(@Value("${ml.sync.workers:4}") int workers,
+                          @Value("${ml.sync.queue-capacity:1000}") int queueCapacity,
+                          @Value("${ml.sync.rejection-policy:discard-oldest}") String rejectionPolicy,
+                          @Value("${ml.sync.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.rejectionPolicy = rejectionPolicy.toLowerCase(Locale.ROOT);
+
+        RejectedExecutionHandler delegate = switch (this.rejectionPolicy) {
+            case "abort" -> new ThreadPoolExecutor.AbortPolicy();
+            case "discard" -> new ThreadPoolExecutor.DiscardPolicy();
+            case "discard-oldest" -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            case "caller-runs" -> new ThreadPoolExecutor.CallerRunsPolicy();
+            default -> throw new IllegalArgumentException("Unknown ml.sync.rejection-policy: " + rejectionPolicy);
+        };
+
+        this.executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("ml-sync-", 0).factory(),
+                (task, pool) -> {
+                    rejected.incrementAndGet();
+                    Runnable dropped = switch (this.rejectionPolicy) {
+                        case "discard" -> task;
+                        case "discard-oldest" -> pool.getQueue().peek();
+                        default -> null;
+                    };
+                    if (dropped instanceof SyncTask syncTask) {
+                        System.err.println("⚠️ ML sync queue full, dropped task: " + syncTask.name());
+                    }
+                    delegate.rejectedExecution(task, pool);
+                });
+    }
+
+    /**
+     * Queues a task. Returns false if it was rejected under the abort policy; other policies
+     * either run it on the caller or drop a task (counted as rejected and logged).
+     */
+    public boolean submit(String taskName, Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        submitted.incrementAndGet();
+        try {
+            executor.execute(new SyncTask(taskName, () -> run(taskName, task, enqueuedAt)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            System.err.println("⚠️ ML sync queue full, rejected task: " + taskName);
+            return false;
+        }
+    }
+
+    private void run(String taskName, Runnable task, long enqueuedAt) {
+        long startedAt = System.nanoTime();
+        totalQueueWaitNanos.addAndGet(startedAt - enqueuedAt);
+        try {
+            task.run();
+            completed.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.err.println("⚠️ ML sync task failed (" + taskName + "): " + e.getMessage());
+        } finally {
+            long runNanos = System.nanoTime() - startedAt;
+            totalRunNanos.addAndGet(runNanos);
+            maxRunNanos.accumulateAndGet(runNanos, Math::max);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                List<Runnable> dropped = executor.shutdownNow();
+                System.err.println("⚠️ ML sync drain timed out, dropped " + dropped.size() + " queued tasks");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public Map<String, Object> getStats() {
+        long finished = completed.get() + failed.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queue_depth", getQueueDepth());
+        stats.put("queue_remaining_capacity", executor.getQueue().remainingCapacity());
+        stats.put("active_workers", getActiveCount());
+        stats.put("rejection_policy", rejectionPolicy);
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("avg_queue_wait_ms", finished == 0 ? 0.0 : totalQueueWaitNanos.get() / 1e6 / finished);
+        stats.put("avg_task_latency_ms", finished == 0 ? 0.0 : totalRunNanos.get() / 1e6 / finished);
+        stats.put("max_task_latency_ms", maxRunNanos.get() / 1e6);
+        return stats;
+    }
+}
@@ -0,0 +1,174 @@
+package com.skillsynth;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers user and skill uploads for up to a window (or until a size cap) and sends each
+ * buffer as one /upload_users and one /process_and_upload_skills call. Repeated uploads of
+ * the same user id or skill name inside a window are merged, keeping the latest payload.
+ * Flushes run one at a time on a dedicated thread, so batches reach the ML service in order.
+ */
+@Component
+public class MLUploadCoalescer {
+
+    private final MLService mlService;
+    private final long windowMs;
+    private final int maxBatch;
+
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ml-coalescer").daemon().factory());
+
+    private final Object lock = new Object();
+    private LinkedHashMap<String, Map<String, Object>> pendingUsers = new LinkedHashMap<>();
+    private LinkedHashMap<String, String> pendingSkills = new LinkedHashMap<>(); // name -> category
+    private List<CompletableFuture<Void>> userWaiters = new ArrayList<>();
+    private List<CompletableFuture<Void>> skillWaiters = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final AtomicLong uploadsReceived = new AtomicLong();
+    private final AtomicLong uploadsMerged = new AtomicLong();
+    private final AtomicLong requestsSent = new AtomicLong();
+    private final AtomicLong requestsFailed = new AtomicLong();
+
+    public MLUploadCoalescer(MLService mlService,
+                             @Value("${ml.coalescer.window-ms:200}") long windowMs,
+                             @Value("${ml.coalescer.max-batch:200}") int maxBatch) {
+        this.mlService = mlService;
+        this.windowMs = windowMs;
+        this.maxBatch = maxBatch;
+    }
+
+    /** Completes once the batch containing this user has been accepted by the ML service. */
+    public CompletableFuture<Void> uploadUser(Map<String, Object> user) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (lock) {
+            uploadsReceived.incrementAndGet();
+            if (pendingUsers.put(String.valueOf(user.get("id")), user) != null) {
+                uploadsMerged.incrementAndGet();
+            }
+            userWaiters.add(done);
+            afterEnqueue();
+        }
+        return done;
+    }
+
+    /** Completes once the batch containing these skills has been accepted by the ML service. */
+    public CompletableFuture<Void> uploadSkills(Map<String, List<String>> skillsByCategory) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (lock) {
+            skillsByCategory.forEach((category, names) -> {
+                for (String name : names) {
+                    uploadsReceived.incrementAndGet();
+                    if (pendingSkills.put(name, category) != null) {
+                        uploadsMerged.incrementAndGet();
+                    }
+                }
+            });
+            skillWaiters.add(done);
+            afterEnqueue();
+        }
+        return done;
+    }
+
+    // Caller holds lock
+    private void afterEnqueue() {
+        if (pendingUsers.size() + pendingSkills.size() >= maxBatch) {
+            flush();
+        } else if (scheduledFlush == null) {
+            scheduledFlush = flusher.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Hands the current buffers to the flusher thread without waiting for the window. */
+    public void flush() {
+        Map<String, Map<String, Object>> users;
+        Map<String, String> skills;
+        List<CompletableFuture<Void>> usersDone;
+        List<CompletableFuture<Void>> skillsDone;
+        synchronized (lock) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pendingUsers.isEmpty() && pendingSkills.isEmpty()) return;
+
+            users = pendingUsers;
+            skills = pendingSkills;
+            usersDone = userWaiters;
+            skillsDone = skillWaiters;
+            pendingUsers = new LinkedHashMap<>();
+            pendingSkills = new LinkedHashMap<>();
+            userWaiters = new ArrayList<>();
+            skillWaiters = new ArrayList<>();
+        }
+
+        try {
+            flusher.execute(() -> send(users, skills, usersDone, skillsDone));
+        } catch (RejectedExecutionException e) {
+            // Shutting down: run inline so waiters are never left hanging
+            send(users, skills, usersDone, skillsDone);
+        }
+    }
+
+    private void send(Map<String, Map<String, Object>> users, Map<String, String> skills,
+                      List<CompletableFuture<Void>> usersDone, List<CompletableFuture<Void>> skillsDone) {
+        if (!users.isEmpty()) {
+            try {
+                requestsSent.incrementAndGet();
+                mlService.uploadUsers(new ArrayList<>(users.values()));
+                usersDone.forEach(f -> f.complete(null));
+                System.out.println(" Uploaded " + users.size() + " user(s) to ML service in one batch");
+            } catch (Exception e) {
+                requestsFailed.incrementAndGet();
+                usersDone.forEach(f -> f.completeExceptionally(e));
+            }
+        }
+
+        if (!skills.isEmpty()) {
+            Map<String, List<String>> byCategory = new LinkedHashMap<>();
+            skills.forEach((name, category) -> byCategory.computeIfAbsent(category, c -> new ArrayList<>()).add(name));
+            try {
+                requestsSent.incrementAndGet();
+                mlService.processAndUploadSkills(byCategory);
+                skillsDone.forEach(f -> f.complete(null));
+                System.out.println(" Uploaded " + skills.size() + " skill(s) to ML service in one batch");
+            } catch (Exception e) {
+                requestsFailed.incrementAndGet();
+                skillsDone.forEach(f -> f.completeExceptionally(e));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getBufferedCount() {
+        synchronized (lock) {
+            return pendingUsers.size() + pendingSkills.size();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buffered", getBufferedCount());
+        stats.put("uploads_received", uploadsReceived.get());
+        stats.put("uploads_merged", uploadsMerged.get());
+        stats.put("requests_sent", requestsSent.get());
+        stats.put("requests_failed", requestsFailed.get());
+        return stats;
+    }
+}
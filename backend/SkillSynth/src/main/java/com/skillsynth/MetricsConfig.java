@@ -0,0 +1,82 @@
+package com.skillsynth;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters beyond what Spring Boot binds on its own (HTTP server timers, Hibernate statistics,
+ * Hikari pool, JVM): per-request query counting, the depth of every background queue
+ * between a write and the ML service seeing it, and how stale precomputed teammate lists get.
+ * All of it is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static: post-processors are created before the rest of this configuration
+    @Bean
+    public static BeanPostProcessor requestStatementCounter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource
+                        && !(bean instanceof RequestQueryStats.StatementCountingDataSource)
+                        ? new RequestQueryStats.StatementCountingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestEntityLoadCounter() {
+        RequestQueryStats.EntityLoadCounter counter = new RequestQueryStats.EntityLoadCounter();
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, counter);
+    }
+
+    @Bean
+    public MeterBinder backgroundQueueMetrics(MLSyncExecutor mlSyncExecutor,
+                                              MLOutboxRelay mlOutboxRelay,
+                                              MLUploadCoalescer mlUploadCoalescer,
+                                              ProjectGenerationJobs projectGenerationJobs,
+                                              TeammateRecommendations teammateRecommendations) {
+        return registry -> {
+            Gauge.builder("ml.sync.queue.depth", mlSyncExecutor, MLSyncExecutor::getQueueDepth)
+                    .description("ML sync tasks waiting for a worker")
+                    .register(registry);
+            Gauge.builder("ml.sync.active", mlSyncExecutor, MLSyncExecutor::getActiveCount)
+                    .description("ML sync tasks running")
+                    .register(registry);
+            // One COUNT(*) on ml_outbox per scrape
+            Gauge.builder("ml.outbox.pending", mlOutboxRelay, MLOutboxRelay::getPendingCount)
+                    .description("Outbox events not yet delivered to the ML service")
+                    .register(registry);
+            Gauge.builder("ml.outbox.in_flight", mlOutboxRelay, MLOutboxRelay::getInFlightCount)
+                    .description("Outbox events handed to the coalescer and awaiting acknowledgement")
+                    .register(registry);
+            Gauge.builder("ml.coalescer.buffered", mlUploadCoalescer, MLUploadCoalescer::getBufferedCount)
+                    .description("Users and skills buffered for the next batched upload")
+                    .register(registry);
+            Gauge.builder("ml.jobs.queue.depth", projectGenerationJobs, ProjectGenerationJobs::getQueueDepth)
+                    .description("AI project generation jobs waiting to run")
+                    .register(registry);
+            Gauge.builder("teammates.recompute.pending", teammateRecommendations, TeammateRecommendations::getPendingCount)
+                    .description("Users queued for a teammate list recompute")
+                    .register(registry);
+            TimeGauge.builder("teammates.recompute.oldest_pending.age", teammateRecommendations, TimeUnit.MILLISECONDS,
+                            TeammateRecommendations::getOldestPendingAgeMs)
+                    .description("How long the longest-queued teammate list recompute has waited")
+                    .register(registry);
+            TimeGauge.builder("teammates.entries.oldest.age", teammateRecommendations, TimeUnit.MILLISECONDS,
+                            TeammateRecommendations::getOldestEntryAgeMs)
+                    .description("Age of the oldest precomputed teammate list")
+                    .register(registry);
+        };
+    }
+}
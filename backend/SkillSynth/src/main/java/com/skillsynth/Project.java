@@ -1,10 +1,13 @@
 package com.skillsynth;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_project_experience_level", columnList = "experienceLevel, id"))
+@NamedEntityGraph(name = "Project.withSkills", attributeNodes = @NamedAttributeNode("recommendedSkills"))
 public class Project {
 
     @Id
@@ -14,10 +17,12 @@ public class Project {
     private String name;
 
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "project_skills",
             joinColumns = @JoinColumn(name = "project_id"),
-            inverseJoinColumns = @JoinColumn(name = "skill_id")
+            inverseJoinColumns = @JoinColumn(name = "skill_id"),
+            indexes = @Index(name = "idx_project_skills_skill", columnList = "skill_id, project_id")
     )
     private List<Skill> recommendedSkills;
 
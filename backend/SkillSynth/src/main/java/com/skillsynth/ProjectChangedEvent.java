@@ -0,0 +1,20 @@
+package com.skillsynth;
+
+import java.util.List;
+
+/**
+ * Published whenever a project row or its skill list is created, updated or deleted, so
+ * in-memory structures built from project_skills can follow the database.
+ */
+public record ProjectChangedEvent(Long projectId, List<Long> skillIds, boolean deleted) {
+
+    public static ProjectChangedEvent saved(Project project) {
+        List<Long> skillIds = project.getRecommendedSkills() == null ? List.of()
+                : project.getRecommendedSkills().stream().map(Skill::getId).distinct().toList();
+        return new ProjectChangedEvent(project.getId(), skillIds, false);
+    }
+
+    public static ProjectChangedEvent deleted(Long projectId) {
+        return new ProjectChangedEvent(projectId, List.of(), true);
+    }
+}
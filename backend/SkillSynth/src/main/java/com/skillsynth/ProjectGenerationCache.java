@@ -0,0 +1,185 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of /get_project responses by GenerationKey, so repeat generations for the same
+ * skills, time and level skip the LLM. Two tiers: a bounded LRU map in memory in front of the
+ * project_generation_cache table, which survives restarts and is shared by every instance.
+ * Entries expire after {@code ml.project-cache.ttl-seconds}, and both tiers are size-bounded.
+ * <p>
+ * With {@code ml.project-cache.variants} = K above 1, a key keeps generating until it has K
+ * responses, then answers with a random one of them so results stay varied. A generator that
+ * repeats itself still fills the K slots, so the key stops paying for generations.
+ * Cached responses are shared and must be treated as read-only.
+ */
+@Component
+public class ProjectGenerationCache {
+
+    private record Variant(Map<String, Object> response, Instant createdAt) {}
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final SkillSynthGenerationCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int variants;
+    private final int memoryMaxEntries;
+    private final int databaseMaxEntries;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<GenerationKey, List<Variant>> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong memoryEvictions = new AtomicLong();
+    private final AtomicLong databaseEvictions = new AtomicLong();
+
+    public ProjectGenerationCache(SkillSynthGenerationCacheRepository repository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${ml.project-cache.enabled:true}") boolean enabled,
+                                  @Value("${ml.project-cache.ttl-seconds:86400}") long ttlSeconds,
+                                  @Value("${ml.project-cache.variants:1}") int variants,
+                                  @Value("${ml.project-cache.memory-max-entries:1000}") int memoryMaxEntries,
+                                  @Value("${ml.project-cache.max-entries:100000}") int databaseMaxEntries) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.variants = Math.max(1, variants);
+        this.memoryMaxEntries = memoryMaxEntries;
+        this.databaseMaxEntries = databaseMaxEntries;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GenerationKey, List<Variant>> eldest) {
+                boolean evict = size() > ProjectGenerationCache.this.memoryMaxEntries;
+                if (evict) memoryEvictions.incrementAndGet();
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Cached response for the key, or the generator's response (stored when it holds a
+     * "project"). A null key bypasses the cache.
+     */
+    public Map<String, Object> getOrGenerate(GenerationKey key, Supplier<Map<String, Object>> generate) {
+        if (!enabled || key == null) return generate.get();
+
+        Instant cutoff = Instant.now().minus(ttl);
+        List<Variant> live = lookup(key, cutoff);
+        if (live.size() >= variants) {
+            return live.size() == 1 ? live.get(0).response()
+                    : live.get(ThreadLocalRandom.current().nextInt(live.size())).response();
+        }
+
+        misses.incrementAndGet();
+        Map<String, Object> response = generate.get();
+        if (response != null && response.containsKey("project")) {
+            store(key, response);
+        }
+        return response;
+    }
+
+    private List<Variant> lookup(GenerationKey key, Instant cutoff) {
+        List<Variant> cached;
+        synchronized (memory) {
+            cached = memory.get(key);
+        }
+        List<Variant> cachedLive = cached == null ? List.of()
+                : cached.stream().filter(v -> v.createdAt().isAfter(cutoff)).toList();
+        if (cachedLive.size() >= variants) {
+            memoryHits.incrementAndGet();
+            return cachedLive;
+        }
+
+        // Memory is short of variants (cold, evicted or expired): the table may have more
+        List<Variant> stored = new ArrayList<>();
+        for (ProjectGenerationCacheEntry entry : repository.findByCacheKeyAndCreatedAtAfterOrderByCreatedAtDesc(
+                key.canonical(), cutoff, Limit.of(variants))) {
+            try {
+                stored.add(new Variant(objectMapper.readValue(entry.getResponse(), JSON_OBJECT), entry.getCreatedAt()));
+            } catch (Exception e) {
+                System.err.println("⚠️ Skipping unreadable cached project " + entry.getId() + ": " + e.getMessage());
+            }
+        }
+        List<Variant> live = List.copyOf(stored);
+        // Replace the memory list only when the table holds more variants; otherwise keep the
+        // objects coalesced callers are still storing, so store() recognises them
+        if (live.size() > cachedLive.size()) {
+            synchronized (memory) {
+                memory.put(key, live);
+            }
+        }
+        if (live.size() >= variants) databaseHits.incrementAndGet();
+        return live;
+    }
+
+    private void store(GenerationKey key, Map<String, Object> response) {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(ttl);
+        synchronized (memory) {
+            List<Variant> current = memory.getOrDefault(key, List.of());
+            // Coalesced callers all store the same shared response object; keep it once. An equal
+            // but separately generated response is a variant of its own
+            if (current.stream().anyMatch(v -> v.response() == response)) return;
+            List<Variant> next = new ArrayList<>();
+            for (Variant v : current) {
+                if (v.createdAt().isAfter(cutoff)) next.add(v);
+            }
+            next.add(new Variant(response, now));
+            memory.put(key, List.copyOf(next));
+        }
+        try {
+            repository.save(new ProjectGenerationCacheEntry(key.canonical(), objectMapper.writeValueAsString(response)));
+            stores.incrementAndGet();
+        } catch (Exception e) {
+            // The response is still served; it just is not persisted
+            System.err.println("⚠️ Failed to persist generated project: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ml.project-cache.cleanup-interval-ms:600000}")
+    public void evict() {
+        if (!enabled) return;
+        Instant cutoff = Instant.now().minus(ttl);
+        synchronized (memory) {
+            memory.values().removeIf(list -> list.stream().noneMatch(v -> v.createdAt().isAfter(cutoff)));
+        }
+        int removed = repository.deleteExpired(cutoff) + repository.deleteBeyond(databaseMaxEntries);
+        databaseEvictions.addAndGet(removed);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = memoryHits.get() + databaseHits.get();
+        long lookups = hits + misses.get();
+        synchronized (memory) {
+            stats.put("memory_entries", memory.size());
+        }
+        stats.put("hits_memory", memoryHits.get());
+        stats.put("hits_database", databaseHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hit_ratio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("stores", stores.get());
+        stats.put("evictions_memory", memoryEvictions.get());
+        stats.put("evictions_database", databaseEvictions.get());
+        stats.put("variants", variants);
+        return stats;
+    }
+}
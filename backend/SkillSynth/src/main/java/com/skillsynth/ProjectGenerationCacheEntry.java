@@ -0,0 +1,45 @@
+package com.skillsynth;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/** One cached /get_project response (a "variant") for a GenerationKey. */
+@Entity
+@Table(name = "project_generation_cache", indexes = {
+        @Index(name = "idx_project_generation_cache_key", columnList = "cacheKey, createdAt"),
+        @Index(name = "idx_project_generation_cache_created", columnList = "createdAt")
+})
+public class ProjectGenerationCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 2000)
+    private String cacheKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String response;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // === Constructors ===
+    public ProjectGenerationCacheEntry() {}
+
+    public ProjectGenerationCacheEntry(String cacheKey, String response) {
+        this.cacheKey = cacheKey;
+        this.response = response;
+        this.createdAt = Instant.now();
+    }
+
+    // === Getters ===
+    public Long getId() { return id; }
+
+    public String getCacheKey() { return cacheKey; }
+
+    public String getResponse() { return response; }
+
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,233 @@
+package com.skillsynth;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous AI project generation. Submitting returns a job id at once; the LLM call runs
+ * later on one of {@code ml.jobs.max-concurrent} virtual-thread workers, so request threads
+ * never wait on generation and a burst of requests only grows the queue. Waiting jobs are
+ * ordered by priority (higher first), then by arrival. Finished jobs are kept for
+ * {@code ml.jobs.retention-seconds} so clients can collect the result.
+ */
+@Component
+public class ProjectGenerationJobs {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    /** Thrown when the queue already holds {@code ml.jobs.queue-capacity} jobs. */
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(int capacity) {
+            super("Generation queue is full (" + capacity + " jobs waiting)");
+        }
+    }
+
+    public final class Job implements Runnable, Comparable<Job> {
+        private final String id = UUID.randomUUID().toString();
+        private final long sequence = sequences.incrementAndGet();
+        private final int priority;
+        private final List<Skill> skills;
+        private final int timeAvailability;
+        private final int experienceLevel;
+        private final Instant createdAt = Instant.now();
+        private final CompletableFuture<Job> done = new CompletableFuture<>();
+
+        private volatile Status status = Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile ProjectWithSkillsView project;
+        private volatile String error;
+
+        private Job(List<Skill> skills, int timeAvailability, int experienceLevel, int priority) {
+            this.skills = skills;
+            this.timeAvailability = timeAvailability;
+            this.experienceLevel = experienceLevel;
+            this.priority = priority;
+        }
+
+        // Timestamps and results are written before the status that announces them, so a
+        // reader that sees RUNNING or a finished status also sees the matching fields
+        @Override
+        public void run() {
+            startedAt = Instant.now();
+            status = Status.RUNNING;
+            long started = System.nanoTime();
+            Status outcome;
+            try {
+                Project saved = skillSynthService.createAIProject(
+                        "AI Suggested Project", skills, timeAvailability, experienceLevel);
+                project = ProjectWithSkillsView.from(saved);
+                outcome = Status.SUCCEEDED;
+                succeeded.incrementAndGet();
+            } catch (Exception e) {
+                error = e.getMessage();
+                outcome = Status.FAILED;
+                failed.incrementAndGet();
+                System.err.println("⚠️ Generation job " + id + " failed: " + e.getMessage());
+            }
+            recordDuration(System.nanoTime() - started);
+            finishedAt = Instant.now();
+            status = outcome;
+            done.complete(this);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            if (priority != other.priority) return Integer.compare(other.priority, priority);
+            return Long.compare(sequence, other.sequence);
+        }
+
+        public String getId() { return id; }
+
+        public Status getStatus() { return status; }
+
+        /** Completes when the job has finished, successfully or not. */
+        public CompletableFuture<Job> getDone() { return done; }
+
+        public boolean isFinished() {
+            return status == Status.SUCCEEDED || status == Status.FAILED;
+        }
+
+        public Map<String, Object> toMap() {
+            // One read of each volatile, so the map describes a single state
+            Status current = status;
+            Instant startedAt = this.startedAt;
+            Instant finishedAt = this.finishedAt;
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("status", current.name());
+            map.put("priority", priority);
+            map.put("created_at", createdAt.toString());
+            if (current == Status.QUEUED) {
+                int position = queuePosition(this);
+                map.put("queue_position", position);
+                map.put("eta_ms", estimateQueuedMs(position));
+            }
+            if (current == Status.RUNNING && startedAt != null) {
+                long elapsed = System.currentTimeMillis() - startedAt.toEpochMilli();
+                map.put("eta_ms", Math.max(0, averageDurationMs() - elapsed));
+            }
+            if (startedAt != null) map.put("started_at", startedAt.toString());
+            if (finishedAt != null) map.put("finished_at", finishedAt.toString());
+            if (project != null) map.put("project", project);
+            if (error != null) map.put("error", error);
+            return map;
+        }
+    }
+
+    private final SkillSynthService skillSynthService;
+    private final ThreadPoolExecutor executor;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final long retentionSeconds;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequences = new AtomicLong();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // Exponentially weighted average generation time, seeded with a typical LLM latency
+    private volatile double averageDurationMs;
+
+    public ProjectGenerationJobs(SkillSynthService skillSynthService,
+                                 @Value("${ml.jobs.max-concurrent:4}") int maxConcurrent,
+                                 @Value("${ml.jobs.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${ml.jobs.retention-seconds:600}") long retentionSeconds,
+                                 @Value("${ml.jobs.initial-eta-ms:10000}") long initialEtaMs) {
+        this.skillSynthService = skillSynthService;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.retentionSeconds = retentionSeconds;
+        this.averageDurationMs = initialEtaMs;
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent,
+                0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                Thread.ofVirtual().name("ai-generate-", 0).factory());
+    }
+
+    /** Queues a generation. Skills must already be resolved. */
+    public Job submit(List<Skill> skills, int timeAvailability, int experienceLevel, int priority) {
+        if (executor.getQueue().size() >= queueCapacity) {
+            rejected.incrementAndGet();
+            throw new QueueFullException(queueCapacity);
+        }
+        Job job = new Job(skills, timeAvailability, experienceLevel, priority);
+        jobs.put(job.getId(), job);
+        submitted.incrementAndGet();
+        executor.execute(job);
+        return job;
+    }
+
+    public Optional<Job> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // Jobs ahead of this one: everything queued that sorts before it
+    private int queuePosition(Job job) {
+        int ahead = 0;
+        for (Runnable queued : executor.getQueue()) {
+            if (queued instanceof Job other && other.compareTo(job) < 0) ahead++;
+        }
+        return ahead;
+    }
+
+    // Waits for the jobs ahead to drain through the workers, then its own run
+    private long estimateQueuedMs(int position) {
+        return (long) (averageDurationMs * (position / maxConcurrent + 1));
+    }
+
+    private long averageDurationMs() {
+        return (long) averageDurationMs;
+    }
+
+    private void recordDuration(long nanos) {
+        averageDurationMs = 0.8 * averageDurationMs + 0.2 * (nanos / 1_000_000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${ml.jobs.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        removeFinishedBefore(Instant.now().minusSeconds(retentionSeconds));
+    }
+
+    void removeFinishedBefore(Instant cutoff) {
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.finishedAt;
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        });
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("max_concurrent", maxConcurrent);
+        stats.put("running", executor.getActiveCount());
+        stats.put("queued", getQueueDepth());
+        stats.put("queue_capacity", queueCapacity);
+        stats.put("submitted", submitted.get());
+        stats.put("succeeded", succeeded.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("average_duration_ms", averageDurationMs());
+        stats.put("retained_jobs", jobs.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,128 @@
+package com.skillsynth;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams an AI project generation as Server-Sent Events. The request thread only starts the
+ * pipeline and returns the emitter; the steps run as CompletableFuture stages on virtual
+ * threads, so an open stream holds no platform thread while the LLM is working.
+ * <p>
+ * Events, in order: {@code progress} (stage "accepted", "generating", "skills_resolved",
+ * "generated", "saving"), then {@code name}, {@code description} and {@code relevant_skills}
+ * as soon as the ML response is in, then {@code project} with the saved project. Resolving the
+ * request's skills runs alongside the generation, and the response fields are sent before the
+ * recommended skills are resolved and saved. Failures end the stream with an {@code error} event.
+ */
+@Component
+public class ProjectGenerationStreamer {
+
+    private final SkillSynthService skillSynthService;
+    private final long timeoutMs;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ai-stream-", 0).factory());
+
+    public ProjectGenerationStreamer(SkillSynthService skillSynthService,
+                                     @Value("${ml.stream.timeout-ms:120000}") long timeoutMs) {
+        this.skillSynthService = skillSynthService;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** Starts a generation for the requested (not yet resolved) skills and returns its event stream. */
+    public SseEmitter stream(List<Skill> requested, int timeAvailability, int experienceLevel) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Stream stream = new Stream(emitter);
+        stream.send("progress", Map.of("stage", "accepted"));
+
+        List<String> mainSkillNames = requested.stream().map(Skill::getName).toList();
+
+        CompletableFuture<List<Skill>> resolved = CompletableFuture
+                .supplyAsync(() -> skillSynthService.resolveSkills(requested), executor)
+                .whenComplete((skills, error) -> {
+                    if (error == null) stream.send("progress", Map.of("stage", "skills_resolved", "count", skills.size()));
+                });
+
+        stream.send("progress", Map.of("stage", "generating"));
+        CompletableFuture<Map<String, Object>> generated = CompletableFuture
+                .supplyAsync(() -> skillSynthService.generateProjectResponse(
+                        mainSkillNames, timeAvailability, experienceLevel), executor)
+                .thenApply(response -> {
+                    stream.sendFields(response);
+                    return response;
+                });
+
+        generated.thenCombineAsync(resolved, (response, skills) -> {
+                    if (stream.isClosed()) return null;
+                    stream.send("progress", Map.of("stage", "saving"));
+                    return skillSynthService.saveAIProject("AI Suggested Project", skills, experienceLevel, response);
+                }, executor)
+                .whenComplete((saved, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        System.err.println("⚠️ Streamed AI project generation failed: " + cause.getMessage());
+                        stream.send("error", Map.of("error", String.valueOf(cause.getMessage())));
+                    } else if (saved != null) {
+                        stream.send("project", ProjectWithSkillsView.from(saved));
+                    }
+                    stream.complete();
+                });
+
+        return emitter;
+    }
+
+    // Serializes sends from the pipeline stages and drops them once the client is gone
+    private static final class Stream {
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onCompletion(() -> closed.set(true));
+            emitter.onTimeout(() -> closed.set(true));
+            emitter.onError(error -> closed.set(true));
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        void sendFields(Map<String, Object> response) {
+            Map<String, Object> projectData = (Map<String, Object>) response.get("project");
+            send("progress", Map.of("stage", "generated"));
+            send("name", Map.of("project_name", projectData.getOrDefault("project_name", "AI Suggested Project")));
+            send("description", Map.of("description",
+                    projectData.getOrDefault("description", "AI-generated project description")));
+            send("relevant_skills", Map.of("relevant_skills", projectData.getOrDefault("relevant_skills", List.of())));
+        }
+
+        synchronized void send(String event, Object data) {
+            if (closed.get()) return;
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (Exception e) {
+                // Client disconnected; the remaining stages see the stream as closed
+                closed.set(true);
+            }
+        }
+
+        synchronized void complete() {
+            if (closed.compareAndSet(false, true)) emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
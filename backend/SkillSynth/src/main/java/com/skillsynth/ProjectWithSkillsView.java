@@ -0,0 +1,15 @@
+package com.skillsynth;
+
+import java.util.List;
+
+/** Read model for a project and its skills; same JSON shape as the Project entity. */
+public record ProjectWithSkillsView(Long id, String name, List<SkillView> recommendedSkills,
+                                    String projectDescription, int experienceLevel) {
+
+    public static ProjectWithSkillsView from(Project project) {
+        List<Skill> skills = project.getRecommendedSkills() != null ? project.getRecommendedSkills() : List.of();
+        return new ProjectWithSkillsView(project.getId(), project.getName(),
+                skills.stream().map(SkillView::from).toList(),
+                project.getProjectDescription(), project.getExperienceLevel());
+    }
+}
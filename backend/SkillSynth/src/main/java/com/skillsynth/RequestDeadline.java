@@ -0,0 +1,33 @@
+package com.skillsynth;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Time budget of the inbound HTTP request being served on the current thread, set by
+ * RequestDeadlineFilter. Outbound ML calls shrink their timeout to what is left of it, so a
+ * slow ML service cannot hold a request thread past the point its client has given up.
+ */
+public final class RequestDeadline {
+
+    /** Inbound: the caller's budget in milliseconds. Outbound: what is left for the ML call. */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {}
+
+    static void start(Duration budget) {
+        DEADLINE_NANOS.set(System.nanoTime() + budget.toNanos());
+    }
+
+    static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /** Time left for the current request; empty when the thread is not serving a request. */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+}
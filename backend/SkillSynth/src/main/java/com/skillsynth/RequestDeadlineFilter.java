@@ -0,0 +1,52 @@
+package com.skillsynth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Starts a RequestDeadline for every API request: the client's X-Request-Timeout-Ms header
+ * when present (capped at ml.deadline.max-ms), otherwise ml.deadline.default-ms. The default
+ * follows the /get_project timeout, the longest ML call, so a synchronous project generation
+ * keeps the time it had before deadlines existed.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final long defaultBudgetMs;
+    private final long maxBudgetMs;
+
+    public RequestDeadlineFilter(@Value("${ml.deadline.default-ms:${ml.client.timeout.get-project-ms:60000}}") long defaultBudgetMs,
+                                 @Value("${ml.deadline.max-ms:120000}") long maxBudgetMs) {
+        this.defaultBudgetMs = defaultBudgetMs;
+        this.maxBudgetMs = maxBudgetMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline.start(Duration.ofMillis(budget(request.getHeader(RequestDeadline.HEADER))));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private long budget(String header) {
+        if (header == null) return defaultBudgetMs;
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, maxBudgetMs) : defaultBudgetMs;
+        } catch (NumberFormatException e) {
+            return defaultBudgetMs;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.skillsynth;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements and entity loads each API request caused, per endpoint
+ * (method and URI pattern), as jdbc.request.statements (every statement executed, whether
+ * from Hibernate or JdbcTemplate) and hibernate.request.entity.loads; the global hibernate.*
+ * statistics cannot say which endpoint caused them. A high count on one endpoint
+ * is the signature of an N+1 fetch. Latency itself is the http.server.requests timer Spring
+ * MVC records.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    // Coarse buckets: the question is "one query or a hundred", not the exact count
+    private static final double[] BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500};
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.clear();
+            // Unmatched requests share one tag, so stray URLs cannot blow up cardinality
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            summary("jdbc.request.statements", "SQL statements executed per request", request, uri)
+                    .record(stats.getStatements());
+            summary("hibernate.request.entity.loads", "Entities loaded by Hibernate per request", request, uri)
+                    .record(stats.getEntityLoads());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+}
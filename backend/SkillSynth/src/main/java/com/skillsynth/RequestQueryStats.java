@@ -0,0 +1,122 @@
+package com.skillsynth;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * SQL statements executed and entities loaded by Hibernate for the inbound HTTP request
+ * being served on the current thread, set up by RequestMetricsFilter. Statements are counted
+ * at the JDBC level, so Hibernate, JdbcTemplate and plain JDBC all count. Work handed to
+ * another thread (SSE streaming, async jobs, the outbox relay) is not attributed to any request.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+
+    private RequestQueryStats() {}
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * Installed on the session factory by MetricsConfig: sees every entity Hibernate hydrates
+     * and counts it against the current request.
+     */
+    static final class EntityLoadCounter implements Interceptor {
+
+        @Override
+        public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) stats.entityLoads++;
+            return false;
+        }
+    }
+
+    /**
+     * Wraps the application DataSource (see MetricsConfig). Connections taken while a request
+     * is being counted hand out statements whose execute calls count against it; a batch counts
+     * once, being one round trip. Connections taken elsewhere are returned unwrapped.
+     */
+    static final class StatementCountingDataSource extends DelegatingDataSource {
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            if (CURRENT.get() == null) return connection;
+            return proxy(Connection.class, connection, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                return result instanceof Statement statement ? countingStatement(statement) : result;
+            });
+        }
+
+        private static Statement countingStatement(Statement statement) {
+            // PreparedStatement and CallableStatement proxies keep their full interface
+            Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return proxy(type, statement, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    RequestQueryStats stats = CURRENT.get();
+                    if (stats != null) stats.statements++;
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        // Identity stays with the proxy, so it equals only itself
+        private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                    switch (method.getName()) {
+                        case "equals" -> args[0] == proxy;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> handler.invoke(proxy, method, args);
+                    }));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.skillsynth;
+
+import java.util.List;
+
+/**
+ * Filters for the user and project search endpoints. Every field is optional. Level bounds are
+ * inclusive and apply to AppUser.level or Project.experienceLevel. Every name in {@code skills}
+ * must be present (case-insensitive). {@code minSkillLevel} applies to those skills, or to any
+ * skill when none are named. {@code category} requires at least one skill in that category.
+ */
+public record SearchCriteria(Integer minLevel,
+                             Integer maxLevel,
+                             List<String> skills,
+                             Integer minSkillLevel,
+                             String category) {
+
+    public SearchCriteria {
+        skills = skills == null ? List.of() : skills.stream()
+                .filter(s -> s != null && !s.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        category = (category == null || category.isBlank()) ? null : category.trim();
+    }
+}
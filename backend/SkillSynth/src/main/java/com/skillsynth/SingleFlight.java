@@ -0,0 +1,63 @@
+package com.skillsynth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one. The first caller for a key starts the call;
+ * everyone who asks for the same key while it is in flight gets the same result. The key is
+ * forgotten as soon as the call completes, so this never serves stale results.
+ * <p>
+ * Results are shared between callers and must be treated as read-only.
+ */
+class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+
+    CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            joined.incrementAndGet();
+            // A copy, so one caller cancelling does not cancel the call for the others
+            return existing.copy();
+        }
+
+        started.incrementAndGet();
+        CompletableFuture<V> flight;
+        try {
+            flight = call.get();
+        } catch (RuntimeException e) {
+            flight = CompletableFuture.failedFuture(e);
+        }
+        flight.whenComplete((value, error) -> {
+            inFlight.remove(key, mine);
+            if (error == null) {
+                mine.complete(value);
+            } else {
+                mine.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        return mine.copy();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls_started", started.get());
+        stats.put("calls_joined", joined.get());
+        stats.put("in_flight", inFlight.size());
+        return stats;
+    }
+}
@@ -3,7 +3,7 @@ package com.skillsynth;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "skills")
+@Table(name = "skills", indexes = @Index(name = "idx_skills_category", columnList = "category"))
 public class Skill {
 
     @Id
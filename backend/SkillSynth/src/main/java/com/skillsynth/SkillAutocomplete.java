@@ -0,0 +1,84 @@
+package com.skillsynth;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Skill autocomplete for /skills/search. Built from the skill catalog at startup and kept
+ * current one skill at a time from SkillChangedEvent, so no query touches the database.
+ */
+@Component
+public class SkillAutocomplete {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private final SkillCatalog skillCatalog;
+    private final AutocompleteIndex index = new AutocompleteIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, SkillView> skillsById = new ConcurrentHashMap<>();
+
+    public SkillAutocomplete(SkillCatalog skillCatalog) {
+        this.skillCatalog = skillCatalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<SkillView> skills = skillCatalog.current().all();
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            skillsById.clear();
+            for (SkillView skill : skills) {
+                index.add(skill.id(), skill.name(), skill.category());
+                skillsById.put(skill.id(), skill);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println(" Skill autocomplete loaded: " + skills.size() + " skills");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.skillId() == null) return;
+
+        lock.writeLock().lock();
+        try {
+            if (event.deleted()) {
+                index.remove(event.skillId());
+                skillsById.remove(event.skillId());
+            } else {
+                index.add(event.skillId(), event.name(), event.category());
+                skillsById.put(event.skillId(), SkillView.from(event));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ranked suggestions: exact and prefix matches on names, then categories, then typos. */
+    public List<SkillView> suggest(String query, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        List<AutocompleteIndex.Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.search(query, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SkillView> result = new ArrayList<>(matches.size());
+        for (AutocompleteIndex.Match match : matches) {
+            SkillView skill = skillsById.get(match.id());
+            if (skill != null) result.add(skill);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+package com.skillsynth;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Read-only view of the skills table held in memory as an immutable snapshot, indexed by id,
+ * normalized name and category. Readers take the current snapshot from a volatile field and
+ * never lock. Writers build a modified copy after the skill change commits and swap it in,
+ * so a reader always sees one consistent version of the catalog. All the changes one
+ * transaction publishes (a bulk import chunk, a resolver batch) are applied in a single copy.
+ */
+@Component
+public class SkillCatalog {
+
+    /** One immutable version of the catalog. {@code etag} is derived from the content. */
+    public record Snapshot(List<SkillView> all,
+                           Map<Long, SkillView> byId,
+                           Map<String, SkillView> byName,
+                           Map<String, List<SkillView>> byCategory,
+                           String etag) {
+
+        // Expects skills ordered by id
+        static Snapshot build(Collection<SkillView> skills) {
+            List<SkillView> all = List.copyOf(skills);
+            Map<Long, SkillView> byId = new HashMap<>();
+            Map<String, SkillView> byName = new HashMap<>();
+            Map<String, List<SkillView>> byCategory = new HashMap<>();
+            long hash = 1125899906842597L;
+            for (SkillView skill : all) {
+                byId.put(skill.id(), skill);
+                byName.putIfAbsent(SkillEmbedder.normalize(skill.name()), skill);
+                byCategory.computeIfAbsent(skill.category(), c -> new ArrayList<>()).add(skill);
+                hash = 31 * hash + contentHash(skill);
+            }
+            byCategory.replaceAll((category, list) -> List.copyOf(list));
+            return new Snapshot(all, Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(byCategory),
+                    "\"skills-" + Long.toHexString(hash) + "-" + all.size() + "\"");
+        }
+
+        /** Skills with id greater than {@code after}, in id order. */
+        public List<SkillView> page(long after, int limit) {
+            int low = 0, high = all.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (all.get(mid).id() <= after) low = mid + 1;
+                else high = mid;
+            }
+            return all.subList(low, Math.min(all.size(), low + limit));
+        }
+    }
+
+    // Skill changes published by one transaction, latest per id, applied together after commit
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<Long, SkillChangedEvent> changes = new LinkedHashMap<>();
+
+        @Override
+        public int getOrder() {
+            // Ahead of @TransactionalEventListener handlers, so they see the committed skills
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(changes.values());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SkillCatalog.this);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Snapshot snapshot;
+
+    public SkillCatalog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        List<SkillView> skills = jdbcTemplate.query(
+                "SELECT id, name, category, level, xp FROM skills ORDER BY id",
+                (rs, i) -> {
+                    int level = rs.getInt("level");
+                    return new SkillView(rs.getLong("id"), rs.getString("name"), rs.getString("category"),
+                            level, rs.getInt("xp"), (float) level / 5 * 100f);
+                });
+        snapshot = Snapshot.build(skills);
+        System.out.println(" Skill catalog loaded: " + skills.size() + " skills");
+    }
+
+    // Applied after commit, so rolled-back writes never reach readers; outside a transaction, at once
+    @EventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.skillId() == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            apply(List.of(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.remove(event.skillId());
+        pending.changes.put(event.skillId(), event);
+    }
+
+    // Writers are serialized; one copy of the catalog however many skills changed
+    private synchronized void apply(Collection<SkillChangedEvent> events) {
+        TreeMap<Long, SkillView> next = new TreeMap<>(current().byId());
+        boolean changed = false;
+        for (SkillChangedEvent event : events) {
+            if (event.deleted()) {
+                changed |= next.remove(event.skillId()) != null;
+            } else {
+                next.put(event.skillId(), SkillView.from(event));
+                changed = true;
+            }
+        }
+        if (changed) snapshot = Snapshot.build(next.values());
+    }
+
+    /** The snapshot readers should use; loads it on first use if startup has not yet. */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+        synchronized (this) {
+            if (snapshot == null) reload();
+            return snapshot;
+        }
+    }
+
+    public Optional<SkillView> findById(Long id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public Optional<SkillView> findByName(String name) {
+        return Optional.ofNullable(current().byName().get(SkillEmbedder.normalize(name)));
+    }
+
+    public Optional<SkillView> findFirstByCategory(String category) {
+        List<SkillView> skills = current().byCategory().getOrDefault(category, List.of());
+        return skills.isEmpty() ? Optional.empty() : Optional.of(skills.get(0));
+    }
+
+    /** Strong validator for one skill's representation; stable across restarts. */
+    public static String etag(SkillView skill) {
+        return "\"skill-" + skill.id() + "-" + Long.toHexString(contentHash(skill)) + "\"";
+    }
+
+    private static long contentHash(SkillView skill) {
+        return Objects.hash(skill.id(), skill.name(), skill.category(), skill.level(), skill.xp());
+    }
+}
@@ -0,0 +1,19 @@
+package com.skillsynth;
+
+/**
+ * Published by SkillSynthService whenever a skill row is created, updated or deleted,
+ * so in-memory skill structures can follow the database without polling it.
+ */
+public record SkillChangedEvent(Long skillId, String name, String category, int level, int xp,
+                                boolean deleted) {
+
+    public static SkillChangedEvent saved(Skill skill) {
+        return new SkillChangedEvent(skill.getId(), skill.getName(), skill.getCategory(),
+                skill.getLevel(), skill.getXp(), false);
+    }
+
+    public static SkillChangedEvent deleted(Skill skill) {
+        return new SkillChangedEvent(skill.getId(), skill.getName(), skill.getCategory(),
+                skill.getLevel(), skill.getXp(), true);
+    }
+}
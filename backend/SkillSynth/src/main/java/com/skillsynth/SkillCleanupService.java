@@ -0,0 +1,112 @@
+package com.skillsynth;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Set-based skill deletion and merging for catalog cleanups. Each operation touches the
+ * project_skills and user_skills join tables with a fixed handful of statements, however many
+ * projects or users reference the skills.
+ */
+@Service
+public class SkillCleanupService {
+
+    private final SkillSynthSkillRepository skillRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SkillCleanupService(SkillSynthSkillRepository skillRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.skillRepository = skillRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Deletes the given skills and every reference to them. Returns how many skills existed. */
+    @Transactional
+    public int deleteSkills(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return 0;
+
+        List<Skill> skills = skillRepository.findAllById(new HashSet<>(ids));
+        if (skills.isEmpty()) return 0;
+        List<Long> existing = skills.stream().map(Skill::getId).toList();
+
+        int projectLinks = skillRepository.deleteProjectLinks(existing);
+        int userLinks = skillRepository.deleteUserLinks(existing);
+        skillRepository.deleteAllByIdInBatch(existing);
+
+        for (Skill skill : skills) {
+            eventPublisher.publishEvent(SkillChangedEvent.deleted(skill));
+        }
+        System.out.println("✅ Deleted " + skills.size() + " skill(s), unlinked from "
+                + projectLinks + " project(s) and " + userLinks + " user(s)");
+        return skills.size();
+    }
+
+    /**
+     * Folds the source skills into the target: every project and user that referenced a source
+     * now references the target (once), and the sources are deleted. The join tables are
+     * rewritten in SQL, so the affected users and projects are republished with their new
+     * skill lists for the in-memory indexes.
+     */
+    @Transactional
+    public Optional<Skill> mergeSkills(Collection<Long> sourceIds, Long targetId) {
+        Optional<Skill> target = skillRepository.findById(targetId);
+        if (target.isEmpty()) return Optional.empty();
+
+        Set<Long> sources = new HashSet<>(sourceIds);
+        sources.remove(targetId);
+        if (sources.isEmpty()) return target;
+
+        List<Long> userIds = skillRepository.findUserIdsHolding(sources);
+        List<Long> projectIds = skillRepository.findProjectIdsHolding(sources);
+
+        skillRepository.relinkProjects(sources, targetId);
+        skillRepository.relinkUsers(sources, targetId);
+        deleteSkills(sources);
+
+        // After the source deletions, so listeners drop the sources before adding the target
+        publishUsers(userIds);
+        publishProjects(projectIds);
+
+        System.out.println("✅ Merged " + sources.size() + " skill(s) into " + target.get().getName());
+        return target;
+    }
+
+    private void publishUsers(List<Long> userIds) {
+        for (List<Long> chunk : chunks(userIds)) {
+            Map<Long, Integer> levels = new LinkedHashMap<>();
+            Map<Long, List<Long>> skills = new HashMap<>();
+            for (Object[] row : skillRepository.findUserSkillRows(chunk)) {
+                Long userId = ((Number) row[0]).longValue();
+                levels.put(userId, ((Number) row[1]).intValue());
+                List<Long> held = skills.computeIfAbsent(userId, k -> new ArrayList<>());
+                if (row[2] != null) held.add(((Number) row[2]).longValue());
+            }
+            levels.forEach((userId, level) ->
+                    eventPublisher.publishEvent(new UserChangedEvent(userId, level, skills.get(userId), false)));
+        }
+    }
+
+    private void publishProjects(List<Long> projectIds) {
+        for (List<Long> chunk : chunks(projectIds)) {
+            Map<Long, List<Long>> skills = new LinkedHashMap<>();
+            for (Long projectId : chunk) skills.put(projectId, new ArrayList<>());
+            for (Object[] row : skillRepository.findProjectSkillRows(chunk)) {
+                skills.get(((Number) row[0]).longValue()).add(((Number) row[1]).longValue());
+            }
+            skills.forEach((projectId, held) ->
+                    eventPublisher.publishEvent(new ProjectChangedEvent(projectId, held, false)));
+        }
+    }
+
+    // Keeps IN lists well under PostgreSQL's bind parameter limit
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += 1000) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + 1000)));
+        }
+        return chunks;
+    }
+}
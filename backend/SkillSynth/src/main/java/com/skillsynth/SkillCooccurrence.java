@@ -0,0 +1,189 @@
+package com.skillsynth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Relevant-skill recommendations from which skills users and projects actually hold together.
+ * The co-occurrence graph is loaded from user_skills and project_skills at startup, then kept
+ * current from UserChangedEvent, ProjectChangedEvent and SkillChangedEvent. Answers in the
+ * /grab_relevant_skills shape without a network call, and can blend its scores into an
+ * embedding-based answer.
+ */
+@Component
+public class SkillCooccurrence {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkillCatalog skillCatalog;
+    private final boolean enabled;
+    private final int minCount;
+
+    private final CooccurrenceGraph graph = new CooccurrenceGraph();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SkillCooccurrence(JdbcTemplate jdbcTemplate,
+                             SkillCatalog skillCatalog,
+                             @Value("${skills.cooccurrence.enabled:true}") boolean enabled,
+                             @Value("${skills.cooccurrence.min-count:1}") int minCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.skillCatalog = skillCatalog;
+        this.enabled = enabled;
+        this.minCount = minCount;
+    }
+
+    private static String userDocument(Long id) {
+        return "u" + id;
+    }
+
+    private static String projectDocument(Long id) {
+        return "p" + id;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) return;
+
+        Map<String, List<Long>> documents = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, skill_id FROM user_skills",
+                rs -> { documents.computeIfAbsent(userDocument(rs.getLong("user_id")), k -> new ArrayList<>()).add(rs.getLong("skill_id")); });
+        jdbcTemplate.query("SELECT project_id, skill_id FROM project_skills",
+                rs -> { documents.computeIfAbsent(projectDocument(rs.getLong("project_id")), k -> new ArrayList<>()).add(rs.getLong("skill_id")); });
+
+        lock.writeLock().lock();
+        try {
+            graph.clear();
+            documents.forEach(graph::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println(" Skill co-occurrence graph loaded: " + documents.size() + " users and projects");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null) return;
+        update(userDocument(event.userId()), event.skillIds(), event.deleted());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.projectId() == null) return;
+        update(projectDocument(event.projectId()), event.skillIds(), event.deleted());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (!enabled || event.skillId() == null || !event.deleted()) return;
+
+        lock.writeLock().lock();
+        try {
+            graph.removeSkill(event.skillId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(String document, List<Long> skillIds, boolean deleted) {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            if (deleted) {
+                graph.remove(document);
+            } else {
+                graph.put(document, skillIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a /grab_relevant_skills-shaped response, or empty when the skill is unknown.
+     * {@code scoring} is "jaccard" (default) or "npmi".
+     */
+    public Optional<Map<String, Object>> findRelevant(String mainSkill, int topK, String scoring) {
+        if (!enabled || mainSkill == null) return Optional.empty();
+        Optional<SkillView> main = skillCatalog.findByName(mainSkill);
+        if (main.isEmpty()) return Optional.empty();
+
+        List<CooccurrenceGraph.Neighbour> neighbours;
+        lock.readLock().lock();
+        try {
+            neighbours = graph.neighbours(main.get().id(), topK, scoring(scoring), minCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map<String, Object>> relevant = new ArrayList<>(neighbours.size());
+        for (CooccurrenceGraph.Neighbour neighbour : neighbours) {
+            skillCatalog.findById(neighbour.skillId())
+                    .ifPresent(skill -> relevant.add(item(skill.name(), skill.category(), neighbour.score())));
+        }
+        return Optional.of(response(mainSkill, relevant));
+    }
+
+    /**
+     * Blends co-occurrence into a /grab_relevant_skills response: each skill scores
+     * {@code (1 - weight) * embedding + weight * jaccard}, missing scores counting as 0, and
+     * the best topK of both lists are kept. The input response is not modified.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> blend(Map<String, Object> embedding, String mainSkill, int topK, double weight) {
+        Optional<Map<String, Object>> local = findRelevant(mainSkill, topK, "jaccard");
+        if (local.isEmpty() || weight <= 0) return embedding;
+
+        Map<String, Map<String, Object>> merged = new LinkedHashMap<>();
+        Map<String, Double> scores = new HashMap<>();
+        Object embedded = embedding != null ? embedding.get("relevant_skills") : null;
+        if (embedded instanceof List<?> items) {
+            for (Object raw : items) {
+                if (!(raw instanceof Map<?, ?> item) || item.get("skill") == null) continue;
+                String key = SkillEmbedder.normalize(item.get("skill").toString());
+                double score = item.get("score") instanceof Number n ? n.doubleValue() : 0;
+                merged.put(key, new LinkedHashMap<>((Map<String, Object>) item));
+                scores.merge(key, (1 - weight) * score, Double::sum);
+            }
+        }
+        for (Map<String, Object> item : (List<Map<String, Object>>) local.get().get("relevant_skills")) {
+            String key = SkillEmbedder.normalize((String) item.get("skill"));
+            merged.putIfAbsent(key, new LinkedHashMap<>(item));
+            scores.merge(key, weight * ((Number) item.get("score")).doubleValue(), Double::sum);
+        }
+
+        List<Map<String, Object>> relevant = new ArrayList<>(merged.size());
+        merged.forEach((key, item) -> {
+            item.put("score", scores.get(key).floatValue());
+            relevant.add(item);
+        });
+        relevant.sort(Comparator.comparingDouble((Map<String, Object> item) -> ((Number) item.get("score")).doubleValue()).reversed());
+        return response(mainSkill, relevant.subList(0, Math.min(topK, relevant.size())));
+    }
+
+    private static CooccurrenceGraph.Scoring scoring(String scoring) {
+        return "npmi".equalsIgnoreCase(scoring) ? CooccurrenceGraph.Scoring.NPMI : CooccurrenceGraph.Scoring.JACCARD;
+    }
+
+    private static Map<String, Object> item(String name, String category, float score) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("skill", name);
+        item.put("score", score);
+        item.put("category", category != null ? category : "Unknown");
+        item.put("description", "");
+        return item;
+    }
+
+    private static Map<String, Object> response(String mainSkill, List<Map<String, Object>> relevant) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("main_skill", mainSkill);
+        response.put("relevant_skills", new ArrayList<>(relevant));
+        return response;
+    }
+}
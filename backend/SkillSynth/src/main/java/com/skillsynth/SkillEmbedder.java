@@ -0,0 +1,78 @@
+package com.skillsynth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Source of skill vectors for SkillVectorIndex: the embeddings the ML service stored in
+ * Pinecone when each skill went through /process_and_upload_skills, fetched by skill name in
+ * batches and scaled to unit length. Skills the ML service has not embedded yet, and vectors
+ * of an unexpected size, are left out of the result.
+ */
+@Component
+public class SkillEmbedder {
+
+    /** A stored skill vector (unit length) and the description the ML service keeps with it. */
+    public record Embedding(float[] vector, String description) {}
+
+    private final MLClient mlClient;
+    private final int dimensions;
+    private final int batchSize;
+
+    public SkillEmbedder(MLClient mlClient,
+                         @Value("${skills.index.dimensions:1024}") int dimensions,
+                         @Value("${skills.index.fetch-batch-size:200}") int batchSize) {
+        this.mlClient = mlClient;
+        this.dimensions = dimensions;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Fetches the embeddings of the given skill names, keyed by name as given. Throws
+     * MLClientException when the ML service cannot be reached.
+     */
+    public Map<String, Embedding> fetch(Collection<String> names) {
+        List<String> all = new ArrayList<>(new LinkedHashSet<>(names));
+        Map<String, Embedding> embeddings = new HashMap<>();
+        for (int start = 0; start < all.size(); start += batchSize) {
+            List<String> batch = all.subList(start, Math.min(start + batchSize, all.size()));
+            Map<String, Object> response = mlClient.fetchSkillEmbeddings(batch);
+            if (!(response.get("embeddings") instanceof Map<?, ?> found)) continue;
+
+            for (Map.Entry<?, ?> entry : found.entrySet()) {
+                if (!(entry.getValue() instanceof Map<?, ?> item)) continue;
+                float[] vector = toVector(item.get("values"));
+                if (vector == null) continue;
+                Object description = item.get("description");
+                embeddings.put(String.valueOf(entry.getKey()),
+                        new Embedding(vector, description != null ? description.toString() : ""));
+            }
+        }
+        return embeddings;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private float[] toVector(Object values) {
+        if (!(values instanceof List<?> list) || list.size() != dimensions) return null;
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            if (!(list.get(i) instanceof Number number)) return null;
+            vector[i] = number.floatValue();
+        }
+        float norm = (float) Math.sqrt(HnswIndex.dot(vector, vector));
+        if (norm == 0f) return null;
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] /= norm;
+        }
+        return vector;
+    }
+}
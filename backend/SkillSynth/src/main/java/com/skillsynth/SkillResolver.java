@@ -0,0 +1,169 @@
+package com.skillsynth;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns a list of requested skills into managed Skill rows in a constant number of queries:
+ * one IN query for everything already known, plus one multi-row insert and one read-back
+ * for names that do not exist yet. A warm, case-normalized name -> id dictionary shared across
+ * requests lets known names be loaded by primary key. Concurrent creation of the same name,
+ * in any casing, is settled by the database through ON CONFLICT on the unique lower(name)
+ * index created in import.sql.
+ */
+@Component
+public class SkillResolver {
+
+    private static final String DEFAULT_CATEGORY = "General";
+    // Keep IN lists non-empty without matching anything. PostgreSQL rejects NUL in text
+    // parameters, so the name sentinel is the empty string, which no skill is named
+    private static final Long NO_ID = -1L;
+    private static final String NO_NAME = "";
+
+    private final SkillSynthSkillRepository skillRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MLOutbox mlOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    // Reverse of idsByName so renames and deletes drop the old entry without a full scan
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    public SkillResolver(SkillSynthSkillRepository skillRepository,
+                         JdbcTemplate jdbcTemplate,
+                         MLOutbox mlOutbox,
+                         ApplicationEventPublisher eventPublisher) {
+        this.skillRepository = skillRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.mlOutbox = mlOutbox;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        jdbcTemplate.query("SELECT id, name FROM skills",
+                rs -> { remember(SkillEmbedder.normalize(rs.getString("name")), rs.getLong("id")); });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.skillId() == null) return;
+        if (event.deleted()) {
+            String name = namesById.remove(event.skillId());
+            if (name != null) idsByName.remove(name, event.skillId());
+        } else {
+            remember(SkillEmbedder.normalize(event.name()), event.skillId());
+        }
+    }
+
+    // Records the current name for an id, dropping the entry for its previous name (renames)
+    private void remember(String key, Long id) {
+        String previous = namesById.put(id, key);
+        if (previous != null && !previous.equals(key)) idsByName.remove(previous, id);
+        idsByName.put(key, id);
+    }
+
+    public List<Skill> resolveNames(List<String> names, String category) {
+        return resolve(names.stream().map(name -> new Skill(name, category)).toList());
+    }
+
+    /**
+     * Resolves skills in request order, dropping nulls and duplicates. Skills carrying an id
+     * must exist; skills identified only by name are looked up case-insensitively and created
+     * (with their category, or "General") when missing.
+     */
+    @Transactional
+    public List<Skill> resolve(List<Skill> requested) {
+        if (requested == null || requested.isEmpty()) return new ArrayList<>();
+
+        Set<Long> wantedIds = new LinkedHashSet<>();
+        Map<String, Skill> byName = new LinkedHashMap<>();
+        for (Skill skill : requested) {
+            if (skill == null) continue;
+            if (skill.getId() != null) {
+                wantedIds.add(skill.getId());
+            } else if (skill.getName() != null && !skill.getName().isBlank()) {
+                byName.putIfAbsent(SkillEmbedder.normalize(skill.getName()), skill);
+            }
+        }
+
+        // 1. One query for ids, dictionary hits and unknown names together
+        Set<Long> queryIds = new HashSet<>(wantedIds);
+        Set<String> queryNames = new HashSet<>();
+        for (String key : byName.keySet()) {
+            Long cached = idsByName.get(key);
+            if (cached != null) queryIds.add(cached);
+            else queryNames.add(key);
+        }
+        Map<Long, Skill> found = new HashMap<>();
+        Map<String, Skill> foundByName = new HashMap<>();
+        index(skillRepository.findByIdsOrNormalizedNames(
+                queryIds.isEmpty() ? Set.of(NO_ID) : queryIds,
+                queryNames.isEmpty() ? Set.of(NO_NAME) : queryNames), found, foundByName);
+
+        for (Long id : wantedIds) {
+            if (!found.containsKey(id)) throw new RuntimeException("Skill not found: " + id);
+        }
+
+        // 2. One insert for names still missing (including stale dictionary entries)
+        List<Skill> missing = byName.entrySet().stream()
+                .filter(e -> !foundByName.containsKey(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (!missing.isEmpty()) {
+            createMissing(missing, found, foundByName);
+        }
+
+        Map<Long, Skill> ordered = new LinkedHashMap<>();
+        for (Skill skill : requested) {
+            if (skill == null) continue;
+            Skill managed = skill.getId() != null
+                    ? found.get(skill.getId())
+                    : foundByName.get(SkillEmbedder.normalize(skill.getName()));
+            if (managed != null) ordered.putIfAbsent(managed.getId(), managed);
+        }
+        return new ArrayList<>(ordered.values());
+    }
+
+    private void createMissing(List<Skill> missing, Map<Long, Skill> found, Map<String, Skill> foundByName) {
+        // RETURNING reports only rows this statement inserted, not ones a concurrent
+        // transaction created first, so those are not uploaded or announced twice
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.queryForList(
+                "INSERT INTO skills (name, category, level, xp) "
+                        + "SELECT name, category, 1, 0 FROM unnest(?::text[], ?::text[]) AS t(name, category) "
+                        + "ON CONFLICT (lower(name)) DO NOTHING RETURNING id",
+                Long.class,
+                missing.stream().map(s -> s.getName().trim()).toArray(String[]::new),
+                missing.stream().map(s -> s.getCategory() != null ? s.getCategory() : DEFAULT_CATEGORY)
+                        .toArray(String[]::new)));
+
+        Set<String> names = new HashSet<>();
+        missing.forEach(s -> names.add(SkillEmbedder.normalize(s.getName())));
+        List<Skill> resolved = skillRepository.findByIdsOrNormalizedNames(Set.of(NO_ID), names);
+        index(resolved, found, foundByName);
+
+        for (Skill skill : resolved) {
+            if (!inserted.contains(skill.getId())) continue;
+            mlOutbox.enqueueSkill(skill);
+            eventPublisher.publishEvent(SkillChangedEvent.saved(skill));
+        }
+        System.out.println("🆕 Created " + inserted.size() + " skill(s) in one batch");
+    }
+
+    private void index(List<Skill> skills, Map<Long, Skill> found, Map<String, Skill> foundByName) {
+        for (Skill skill : skills) {
+            String key = SkillEmbedder.normalize(skill.getName());
+            found.put(skill.getId(), skill);
+            foundByName.putIfAbsent(key, skill);
+            remember(key, skill.getId());
+        }
+    }
+}
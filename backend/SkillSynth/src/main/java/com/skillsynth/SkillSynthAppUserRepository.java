@@ -1,16 +1,44 @@
 package com.skillsynth;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.Optional;
+import java.util.Collection;
 import java.util.List;
 
-public interface SkillSynthAppUserRepository extends JpaRepository<AppUser, Long> {
+public interface SkillSynthAppUserRepository extends JpaRepository<AppUser, Long>, JpaSpecificationExecutor<AppUser> {
 
+    @EntityGraph("AppUser.withSkills")
     Optional<AppUser> findByUsername(String username);
 
-    List<AppUser> findByLevelGreaterThan(int level);
+    @EntityGraph("AppUser.withSkills")
+    Optional<AppUser> findWithSkillsById(Long id);
+
+    @EntityGraph("AppUser.withSkills")
+    @Query("SELECT u FROM AppUser u")
+    List<AppUser> findAllWithSkills();
+
+    // Level filters only need the user columns, so they project straight into UserSummary
+    List<UserSummary> findByLevelGreaterThan(int level);
+
+    List<UserSummary> findByLevelLessThan(int level);
+
+    List<UserSummary> findByLevel(int level);
+
+    List<UserSummary> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Keyset pages: rows strictly after the cursor id, in id order
+    List<AppUser> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<UserSummary> findByLevelGreaterThanAndIdGreaterThanOrderByIdAsc(int level, Long after, Limit limit);
+
+    List<UserSummary> findByLevelLessThanAndIdGreaterThanOrderByIdAsc(int level, Long after, Limit limit);
+
+    List<UserSummary> findByLevelAndIdGreaterThanOrderByIdAsc(int level, Long after, Limit limit);
 
     @Query("SELECT u FROM AppUser u LEFT JOIN FETCH u.allSkills WHERE u.id = :id")
     Optional<AppUser> findByIdWithSkills(@Param("id") Long id);
@@ -1,8 +1,16 @@
 package com.skillsynth;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -20,47 +28,167 @@ public class SkillSynthController {
     @Autowired
     private MLService mlService;
 
+    @Autowired
+    private MLClient mlClient;
+
+    @Autowired
+    private ProjectGenerationCache projectGenerationCache;
+
+    @Autowired
+    private ProjectGenerationJobs projectGenerationJobs;
+
+    @Autowired
+    private ProjectGenerationStreamer projectGenerationStreamer;
+
+    @Autowired
+    private TeammateRecommendations teammateRecommendations;
+
+    @Autowired
+    private UserSkillIndex userSkillIndex;
+
+    @Autowired
+    private SkillCooccurrence skillCooccurrence;
+
+    private static final long MAX_JOB_WAIT_MS = 30_000;
+
+    @Autowired
+    private MLSyncExecutor mlSyncExecutor;
+
+    @Autowired
+    private MLOutboxRelay mlOutboxRelay;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StreamingExporter streamingExporter;
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
     // -------------------- USER ENDPOINTS --------------------
 
+    // List endpoints return everything unless ?after= or ?limit= asks for a keyset page
     @GetMapping("/users")
-    public List<AppUser> getAllUsers() {
-        return skillSynthService.getAllUsers();
+    public ResponseEntity<List<UserWithSkillsView>> getAllUsers(@RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getAllUsers());
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getUsersPage(KeysetPage.after(after), pageSize), pageSize, UserWithSkillsView::id);
+    }
+
+    @GetMapping("/users/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsers(@RequestParam(required = false) Long after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamingExporter.users(KeysetPage.after(after)));
     }
 
     @GetMapping("/users/{id}")
-    public ResponseEntity<AppUser> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserWithSkillsView> getUserById(@PathVariable Long id) {
         return skillSynthService.getUserById(id)
+                .map(UserWithSkillsView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/users/{id}/with-skills")
-    public ResponseEntity<AppUser> getUserByIdWithSkills(@PathVariable Long id) {
+    public ResponseEntity<UserWithSkillsView> getUserByIdWithSkills(@PathVariable Long id) {
         return skillSynthService.getUserByIdWithSkills(id)
+                .map(UserWithSkillsView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Precomputed from the users' skills and time availability (/find_teammates shape)
+    @GetMapping("/users/{id}/teammates")
+    public ResponseEntity<Map<String, Object>> getTeammates(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "15") int topK) {
+        return teammateRecommendations.findTeammates(id, topK)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/users/teammates/stats")
+    public Map<String, Object> getTeammateStats() {
+        return teammateRecommendations.getStats();
+    }
+
     @GetMapping("/users/username/{username}")
-    public ResponseEntity<AppUser> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserWithSkillsView> getUserByUsername(@PathVariable String username) {
         return skillSynthService.getUserByUsername(username)
+                .map(UserWithSkillsView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/users/level/greater-than/{level}")
-    public List<AppUser> getUsersWithLevelGreaterThan(@PathVariable int level) {
-        return skillSynthService.getUsersWithLevelGreaterThan(level);
+    public ResponseEntity<List<UserSummary>> getUsersWithLevelGreaterThan(@PathVariable int level,
+                                                                          @RequestParam(required = false) Long after,
+                                                                          @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getUsersWithLevelGreaterThan(level));
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getUsersWithLevelGreaterThanPage(level, KeysetPage.after(after), pageSize),
+                pageSize, UserSummary::id);
     }
 
     @GetMapping("/users/level/less-than/{level}")
-    public List<AppUser> getUsersWithLevelLessThan(@PathVariable int level) {
-        return skillSynthService.getUsersWithLevelLessThan(level);
+    public ResponseEntity<List<UserSummary>> getUsersWithLevelLessThan(@PathVariable int level,
+                                                                       @RequestParam(required = false) Long after,
+                                                                       @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getUsersWithLevelLessThan(level));
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getUsersWithLevelLessThanPage(level, KeysetPage.after(after), pageSize),
+                pageSize, UserSummary::id);
     }
 
     @GetMapping("/users/level/equal-to/{level}")
-    public List<AppUser> getUsersWithLevelEqualTo(@PathVariable int level) {
-        return skillSynthService.getUsersWithLevelEqualTo(level);
+    public ResponseEntity<List<UserSummary>> getUsersWithLevelEqualTo(@PathVariable int level,
+                                                                      @RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getUsersWithLevelEqualTo(level));
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getUsersWithLevelEqualToPage(level, KeysetPage.after(after), pageSize),
+                pageSize, UserSummary::id);
+    }
+
+    @GetMapping("/users/search")
+    public ResponseEntity<List<UserWithSkillsView>> searchUsers(@RequestParam(required = false) Integer minLevel,
+                                                                @RequestParam(required = false) Integer maxLevel,
+                                                                @RequestParam(required = false) List<String> skills,
+                                                                @RequestParam(required = false) Integer minSkillLevel,
+                                                                @RequestParam(required = false) String category,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit) {
+        SearchCriteria criteria = new SearchCriteria(minLevel, maxLevel, skills, minSkillLevel, category);
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.searchUsers(criteria, KeysetPage.after(after), pageSize),
+                pageSize, UserWithSkillsView::id);
+    }
+
+    // Boolean skill query answered from the bitmap index, e.g.
+    // {"all": [{"skill": "Docker", "minLevel": 3}, {"skill": "Kubernetes"}], "minLevel": 2, "maxLevel": 4}.
+    // Keyset paged like the other lists; X-Total-Count carries the number of matches.
+    @PostMapping("/users/query")
+    public ResponseEntity<List<UserSummary>> queryUsers(@RequestBody UserQuery query,
+                                                        @RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetPage.limit(limit);
+        UserSkillIndex.Result result = userSkillIndex.query(query, KeysetPage.after(after), pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header("X-Total-Count", String.valueOf(result.total()));
+        if (result.userIds().size() == pageSize) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, String.valueOf(result.userIds().get(pageSize - 1)));
+        }
+        return response.body(skillSynthService.getUserSummaries(result.userIds()));
     }
 
     @PostMapping("/users")
@@ -94,35 +222,54 @@ public class SkillSynthController {
 
     // -------------------- SKILL ENDPOINTS --------------------
 
+    // Skill reads come from the catalog snapshot and carry strong ETags, so unchanged
+    // catalogs answer If-None-Match with 304 Not Modified
     @GetMapping("/skills")
-    public List<Skill> getAllSkills() {
-        return skillSynthService.getAllSkills();
+    public ResponseEntity<List<SkillView>> getAllSkills(@RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit) {
+        SkillCatalog.Snapshot catalog = skillCatalog.current();
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.all());
+        }
+        int pageSize = KeysetPage.limit(limit);
+        ResponseEntity<List<SkillView>> page =
+                KeysetPage.of(catalog.page(KeysetPage.after(after), pageSize), pageSize, SkillView::id);
+        return ResponseEntity.ok().headers(page.getHeaders()).eTag(catalog.etag()).body(page.getBody());
+    }
+
+    @GetMapping("/skills/stream")
+    public ResponseEntity<StreamingResponseBody> streamSkills(@RequestParam(required = false) Long after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamingExporter.skills(KeysetPage.after(after)));
     }
 
     @GetMapping("/skills/{id}")
-    public ResponseEntity<Skill> getSkillById(@PathVariable Long id) {
+    public ResponseEntity<SkillView> getSkillById(@PathVariable Long id) {
         return skillSynthService.getSkillById(id)
-                .map(ResponseEntity::ok)
+                .map(skill -> ResponseEntity.ok().eTag(SkillCatalog.etag(skill)).body(skill))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/skills/name/{name}")
-    public ResponseEntity<Skill> getSkillByName(@PathVariable String name) {
+    public ResponseEntity<SkillView> getSkillByName(@PathVariable String name) {
         return skillSynthService.getSkillByName(name)
-                .map(ResponseEntity::ok)
+                .map(skill -> ResponseEntity.ok().eTag(SkillCatalog.etag(skill)).body(skill))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/skills/description")
-    public ResponseEntity<Skill> getSkillByDescription(@RequestParam String description) {
+    public ResponseEntity<SkillView> getSkillByDescription(@RequestParam String description) {
         return skillSynthService.getSkillByDescription(description)
-                .map(ResponseEntity::ok)
+                .map(skill -> ResponseEntity.ok().eTag(SkillCatalog.etag(skill)).body(skill))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Autocomplete: ranked prefix matches on names and categories, then typo-tolerant matches
     @GetMapping("/skills/search")
-    public List<Skill> searchSkillsByKeyword(@RequestParam String keyword) {
-        return skillSynthService.getSkillsByKeyword(keyword);
+    public List<SkillView> searchSkillsByKeyword(@RequestParam String keyword,
+                                                 @RequestParam(required = false) Integer limit) {
+        return skillSynthService.getSkillsByKeyword(keyword, limit);
     }
 
     @PostMapping("/skills")
@@ -142,40 +289,106 @@ public class SkillSynthController {
                 : ResponseEntity.notFound().build();
     }
 
+    @PostMapping("/skills/bulk-delete")
+    public Map<String, Object> deleteSkills(@RequestBody List<Long> ids) {
+        return Map.of("deleted", skillSynthService.deleteSkills(ids));
+    }
+
+    // Body: {"sourceIds": [3, 7], "targetId": 2}
+    @PostMapping("/skills/merge")
+    public ResponseEntity<Skill> mergeSkills(@RequestBody Map<String, Object> request) {
+        @SuppressWarnings("unchecked")
+        List<Number> sourceIds = (List<Number>) request.get("sourceIds");
+        Long targetId = ((Number) request.get("targetId")).longValue();
+
+        return skillSynthService.mergeSkills(sourceIds.stream().map(Number::longValue).toList(), targetId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // -------------------- PROJECT ENDPOINTS --------------------
 
     @GetMapping("/projects")
-    public List<Project> getAllProjects() {
-        return skillSynthService.getAllProjects();
+    public ResponseEntity<List<ProjectWithSkillsView>> getAllProjects(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getAllProjects());
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getProjectsPage(KeysetPage.after(after), pageSize), pageSize, ProjectWithSkillsView::id);
+    }
+
+    @GetMapping("/projects/stream")
+    public ResponseEntity<StreamingResponseBody> streamProjects(@RequestParam(required = false) Long after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamingExporter.projects(KeysetPage.after(after)));
     }
 
     @GetMapping("/projects/{id}")
-    public ResponseEntity<Project> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectWithSkillsView> getProjectById(@PathVariable Long id) {
         return skillSynthService.getProjectById(id)
+                .map(ProjectWithSkillsView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/projects/name/{name}")
-    public ResponseEntity<Project> getProjectByName(@PathVariable String name) {
+    public ResponseEntity<ProjectWithSkillsView> getProjectByName(@PathVariable String name) {
         return skillSynthService.getProjectByName(name)
+                .map(ProjectWithSkillsView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/projects/level/greater-than/{level}")
-    public List<Project> getProjectsLevelGreaterThan(@PathVariable int level) {
-        return skillSynthService.getProjectsXPGreaterThan(level);
+    public ResponseEntity<List<ProjectWithSkillsView>> getProjectsLevelGreaterThan(@PathVariable int level,
+                                                                                   @RequestParam(required = false) Long after,
+                                                                                   @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getProjectsXPGreaterThan(level));
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getProjectsXPGreaterThanPage(level, KeysetPage.after(after), pageSize),
+                pageSize, ProjectWithSkillsView::id);
     }
 
     @GetMapping("/projects/level/less-than/{level}")
-    public List<Project> getProjectsLevelLessThan(@PathVariable int level) {
-        return skillSynthService.getProjectsXPLessThan(level);
+    public ResponseEntity<List<ProjectWithSkillsView>> getProjectsLevelLessThan(@PathVariable int level,
+                                                                                @RequestParam(required = false) Long after,
+                                                                                @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getProjectsXPLessThan(level));
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getProjectsXPLessThanPage(level, KeysetPage.after(after), pageSize),
+                pageSize, ProjectWithSkillsView::id);
     }
 
     @GetMapping("/projects/level/equal-to/{level}")
-    public List<Project> getProjectsLevelEqualTo(@PathVariable int level) {
-        return skillSynthService.getProjectsXPEqualTo(level);
+    public ResponseEntity<List<ProjectWithSkillsView>> getProjectsLevelEqualTo(@PathVariable int level,
+                                                                               @RequestParam(required = false) Long after,
+                                                                               @RequestParam(required = false) Integer limit) {
+        if (!KeysetPage.requested(after, limit)) {
+            return ResponseEntity.ok(skillSynthService.getProjectsXPEqualTo(level));
+        }
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.getProjectsXPEqualToPage(level, KeysetPage.after(after), pageSize),
+                pageSize, ProjectWithSkillsView::id);
+    }
+
+    @GetMapping("/projects/search")
+    public ResponseEntity<List<ProjectWithSkillsView>> searchProjects(@RequestParam(required = false) Integer minLevel,
+                                                                      @RequestParam(required = false) Integer maxLevel,
+                                                                      @RequestParam(required = false) List<String> skills,
+                                                                      @RequestParam(required = false) Integer minSkillLevel,
+                                                                      @RequestParam(required = false) String category,
+                                                                      @RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        SearchCriteria criteria = new SearchCriteria(minLevel, maxLevel, skills, minSkillLevel, category);
+        int pageSize = KeysetPage.limit(limit);
+        return KeysetPage.of(skillSynthService.searchProjects(criteria, KeysetPage.after(after), pageSize),
+                pageSize, ProjectWithSkillsView::id);
     }
 
     @PostMapping("/projects")
@@ -191,17 +404,7 @@ public class SkillSynthController {
     @PostMapping("/projects/ai-generate")
     public ResponseEntity<Project> generateAIProject(@RequestBody Map<String, Object> request) {
         try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> skillMaps = (List<Map<String, Object>>) request.get("skills");
-            List<Skill> skills = new ArrayList<>();
-
-            for (Map<String, Object> skillMap : skillMaps) {
-                String skillName = (String) skillMap.get("skillName");
-                String category = (String) skillMap.getOrDefault("category", "General");
-                Skill skill = skillSynthService.getSkillByName(skillName)
-                        .orElseGet(() -> skillSynthService.createSkill(skillName, category));
-                skills.add(skill);
-            }
+            List<Skill> skills = resolveRequestSkills(request);
 
             int timeAvailability = (Integer) request.get("time_availability");
             int experienceLevel = (Integer) request.get("experience_level");
@@ -224,17 +427,7 @@ public class SkillSynthController {
     @PostMapping("/projects/ai-generate-and-save")
     public ResponseEntity<Project> generateAndSaveAIProject(@RequestBody Map<String, Object> request) {
         try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> skillMaps = (List<Map<String, Object>>) request.get("skills");
-            List<Skill> skills = new ArrayList<>();
-
-            for (Map<String, Object> skillMap : skillMaps) {
-                String skillName = (String) skillMap.get("skillName");
-                String category = (String) skillMap.getOrDefault("category", "General");
-                Skill skill = skillSynthService.getSkillByName(skillName)
-                        .orElseGet(() -> skillSynthService.createSkill(skillName, category));
-                skills.add(skill);
-            }
+            List<Skill> skills = resolveRequestSkills(request);
 
             int timeAvailability = (Integer) request.get("time_availability");
             int experienceLevel = (Integer) request.get("experience_level");
@@ -254,6 +447,84 @@ public class SkillSynthController {
         }
     }
 
+    // -------------------- ASYNC GENERATION JOBS --------------------
+    // Same body as /projects/ai-generate plus optional "priority" (higher runs first).
+    // Answers 202 with the job; poll its Location, optionally long-polling with ?waitMs=.
+
+    @PostMapping("/projects/ai-generate/jobs")
+    public ResponseEntity<Map<String, Object>> submitAIProjectJob(@RequestBody Map<String, Object> request) {
+        List<Skill> skills = resolveRequestSkills(request);
+        int timeAvailability = (Integer) request.get("time_availability");
+        int experienceLevel = (Integer) request.get("experience_level");
+        int priority = ((Number) request.getOrDefault("priority", 0)).intValue();
+
+        try {
+            ProjectGenerationJobs.Job job = projectGenerationJobs.submit(skills, timeAvailability, experienceLevel, priority);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/projects/ai-generate/jobs/" + job.getId()))
+                    .body(job.toMap());
+        } catch (ProjectGenerationJobs.QueueFullException e) {
+            return ResponseEntity.status(503).header("Retry-After", "5").body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/projects/ai-generate/jobs/{id}")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> getAIProjectJob(@PathVariable String id,
+                                                                               @RequestParam(defaultValue = "0") long waitMs) {
+        long timeout = Math.min(Math.max(waitMs, 0), MAX_JOB_WAIT_MS);
+        DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>(timeout > 0 ? timeout : null);
+
+        Optional<ProjectGenerationJobs.Job> found = projectGenerationJobs.get(id);
+        if (found.isEmpty()) {
+            result.setResult(ResponseEntity.notFound().build());
+            return result;
+        }
+        ProjectGenerationJobs.Job job = found.get();
+        if (timeout == 0 || job.isFinished()) {
+            result.setResult(ResponseEntity.ok(job.toMap()));
+            return result;
+        }
+
+        // Long-poll: answer when the job finishes or the wait runs out, holding no thread meanwhile
+        result.onTimeout(() -> result.setResult(ResponseEntity.ok(job.toMap())));
+        job.getDone().thenAccept(finished -> result.setResult(ResponseEntity.ok(finished.toMap())));
+        return result;
+    }
+
+    @GetMapping("/projects/ai-generate/jobs/stats")
+    public Map<String, Object> getAIProjectJobStats() {
+        return projectGenerationJobs.getStats();
+    }
+
+    // -------------------- STREAMED GENERATION --------------------
+    // Same body as /projects/ai-generate; answers text/event-stream with progress events,
+    // the project's name, description and relevant skills as they arrive, then the saved project.
+
+    @PostMapping(value = "/projects/ai-generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAIProject(@RequestBody Map<String, Object> request) {
+        int timeAvailability = (Integer) request.get("time_availability");
+        int experienceLevel = (Integer) request.get("experience_level");
+        // Skills are resolved inside the stream, alongside the generation
+        return projectGenerationStreamer.stream(requestedSkills(request), timeAvailability, experienceLevel);
+    }
+
+    // Request body "skills": [{"skillName": "...", "category": "..."}], resolved in one batch
+    private List<Skill> resolveRequestSkills(Map<String, Object> request) {
+        return skillSynthService.resolveSkills(requestedSkills(request));
+    }
+
+    private List<Skill> requestedSkills(Map<String, Object> request) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> skillMaps = (List<Map<String, Object>>) request.get("skills");
+        List<Skill> requested = new ArrayList<>();
+        for (Map<String, Object> skillMap : skillMaps) {
+            String skillName = (String) skillMap.get("skillName");
+            String category = (String) skillMap.getOrDefault("category", "General");
+            requested.add(new Skill(skillName, category));
+        }
+        return requested;
+    }
+
     @PutMapping("/projects")
     public Project updateProject(@RequestBody Project project) {
         return skillSynthService.updateProject(project);
@@ -266,6 +537,24 @@ public class SkillSynthController {
                 : ResponseEntity.notFound().build();
     }
 
+    // -------------------- BULK IMPORT ENDPOINTS --------------------
+    // Request bodies are NDJSON: one JSON object per line, streamed and written in chunks
+
+    @PostMapping(value = "/import/users", consumes = {"application/x-ndjson", "application/json", "text/plain"})
+    public Map<String, Object> importUsers(InputStream body) throws IOException {
+        return bulkImportService.importUsers(body);
+    }
+
+    @PostMapping(value = "/import/skills", consumes = {"application/x-ndjson", "application/json", "text/plain"})
+    public Map<String, Object> importSkills(InputStream body) throws IOException {
+        return bulkImportService.importSkills(body);
+    }
+
+    @PostMapping(value = "/import/projects", consumes = {"application/x-ndjson", "application/json", "text/plain"})
+    public Map<String, Object> importProjects(InputStream body) throws IOException {
+        return bulkImportService.importProjects(body);
+    }
+
     // -------------------- ML SERVICE ENDPOINTS --------------------
 
     @PostMapping("/ml/relevant-skills")
@@ -273,6 +562,16 @@ public class SkillSynthController {
         return mlService.getRelevantSkills(mainSkill, topK);
     }
 
+    // Same response shape as /ml/relevant-skills, from the skills users and projects hold together
+    @PostMapping("/ml/relevant-skills/cooccurrence")
+    public ResponseEntity<Map<String, Object>> getCooccurringSkills(@RequestParam String mainSkill,
+                                                                    @RequestParam(defaultValue = "3") int topK,
+                                                                    @RequestParam(defaultValue = "jaccard") String scoring) {
+        return skillCooccurrence.findRelevant(mainSkill, topK, scoring)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/ml/generate-project")
     public ResponseEntity<Map<String, Object>> generateProject(@RequestBody Map<String, Object> request) {
         Map<String, Object> result = skillSynthService.generateAIProjectSafe(request);
@@ -298,4 +597,32 @@ public class SkillSynthController {
 
         return mlService.findTeammates(user, topK);
     }
+
+    @GetMapping("/ml/sync/stats")
+    public Map<String, Object> getMLSyncStats() {
+        return mlSyncExecutor.getStats();
+    }
+
+    @GetMapping("/ml/outbox/stats")
+    public Map<String, Object> getMLOutboxStats() {
+        return mlOutboxRelay.getStats();
+    }
+
+    @GetMapping("/ml/client/stats")
+    public Map<String, Object> getMLClientStats() {
+        return mlClient.getStats();
+    }
+
+    @GetMapping("/ml/project-cache/stats")
+    public Map<String, Object> getProjectCacheStats() {
+        return projectGenerationCache.getStats();
+    }
+
+    // No answer from the ML side (open breaker, spent deadline, timeout) is 503;
+    // an error answer from it is 502
+    @ExceptionHandler(MLClient.MLClientException.class)
+    public ResponseEntity<Map<String, Object>> handleMLClientException(MLClient.MLClientException e) {
+        int status = e.getStatus() == 0 ? 503 : 502;
+        return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
+    }
 }
@@ -0,0 +1,30 @@
+package com.skillsynth;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SkillSynthGenerationCacheRepository extends JpaRepository<ProjectGenerationCacheEntry, Long> {
+
+    // Live variants for a key, newest first
+    List<ProjectGenerationCacheEntry> findByCacheKeyAndCreatedAtAfterOrderByCreatedAtDesc(String cacheKey, Instant after, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProjectGenerationCacheEntry e WHERE e.createdAt <= :cutoff")
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+
+    // Size bound: keeps the newest maxEntries rows
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM project_generation_cache WHERE id IN (" +
+                   "SELECT id FROM project_generation_cache ORDER BY created_at DESC OFFSET :maxEntries)",
+           nativeQuery = true)
+    int deleteBeyond(@Param("maxEntries") int maxEntries);
+}
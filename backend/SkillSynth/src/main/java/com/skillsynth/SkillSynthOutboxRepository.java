@@ -0,0 +1,37 @@
+package com.skillsynth;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface SkillSynthOutboxRepository extends JpaRepository<MLOutboxEvent, Long> {
+
+    // Due events whose aggregate has no earlier event still waiting on a retry, oldest first
+    @Query("SELECT e FROM MLOutboxEvent e WHERE e.nextAttemptAt <= :now AND NOT EXISTS (" +
+           "SELECT p FROM MLOutboxEvent p WHERE p.aggregateType = e.aggregateType " +
+           "AND p.aggregateId = e.aggregateId AND p.id < e.id AND p.nextAttemptAt > :now) " +
+           "ORDER BY e.id")
+    List<MLOutboxEvent> findDueBatch(@Param("now") Instant now, Pageable pageable);
+
+    Optional<MLOutboxEvent> findFirstByOrderByIdAsc();
+
+    // Payloads carry full entity state, so delivering one event supersedes every earlier one
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MLOutboxEvent e WHERE e.aggregateType = :type AND e.aggregateId = :aggregateId AND e.id <= :upTo")
+    int deleteDelivered(@Param("type") String type, @Param("aggregateId") Long aggregateId, @Param("upTo") Long upTo);
+
+    // No-op when the row was already superseded and deleted
+    @Modifying
+    @Transactional
+    @Query("UPDATE MLOutboxEvent e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError);
+}
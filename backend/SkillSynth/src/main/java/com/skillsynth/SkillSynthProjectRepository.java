@@ -1,16 +1,49 @@
 package com.skillsynth;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface SkillSynthProjectRepository extends JpaRepository<Project, Long>{
+public interface SkillSynthProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
 
-    // Custom query methods for Projects
+    // Custom query methods for Projects. Whole-result reads load skills with the
+    // Project.withSkills graph in the same statement.
+    @EntityGraph("Project.withSkills")
     Optional<Project> findByName(String name);
 
+    @EntityGraph("Project.withSkills")
+    Optional<Project> findWithSkillsById(Long id);
+
+    @EntityGraph("Project.withSkills")
+    @Query("SELECT p FROM Project p")
+    List<Project> findAllWithSkills();
+
+    @EntityGraph("Project.withSkills")
     List<Project> findByExperienceLevelGreaterThan(int level);
 
+    // Level 0 marks projects without an assigned level; they are not "less than" anything
+    @EntityGraph("Project.withSkills")
+    @Query("SELECT p FROM Project p WHERE p.experienceLevel < :level AND p.experienceLevel <> 0")
+    List<Project> findLevelLessThan(@Param("level") int level);
+
+    @EntityGraph("Project.withSkills")
+    List<Project> findByExperienceLevel(int level);
+
+    // Keyset pages: rows strictly after the cursor id, in id order
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Project> findByExperienceLevelGreaterThanAndIdGreaterThanOrderByIdAsc(int level, Long after, Limit limit);
+
+    @Query("SELECT p FROM Project p WHERE p.experienceLevel < :level AND p.experienceLevel <> 0 AND p.id > :after ORDER BY p.id")
+    List<Project> findLevelLessThanAfter(@Param("level") int level, @Param("after") Long after, Limit limit);
+
+    List<Project> findByExperienceLevelAndIdGreaterThanOrderByIdAsc(int level, Long after, Limit limit);
+
 }
\ No newline at end of file
@@ -2,14 +2,15 @@ package com.skillsynth;
 
 import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.concurrent.Executors;
 
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 
 @Service
@@ -18,136 +19,146 @@ public class SkillSynthService {
     private final SkillSynthAppUserRepository userRepository;
     private final SkillSynthSkillRepository skillRepository;
     private final SkillSynthProjectRepository projectRepository;
-
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    @Value("${ml.api.base-url:http://localhost:8000}")
-    private String mlApiBaseUrl;
+    private final SkillVectorIndex skillVectorIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MLSyncExecutor mlSyncExecutor;
+    private final MLOutbox mlOutbox;
+    private final SkillResolver skillResolver;
+    private final SkillCleanupService skillCleanupService;
+    private final SkillCatalog skillCatalog;
+    private final SkillAutocomplete skillAutocomplete;
+
+    private final MLClient mlClient;
+    private final ProjectGenerationCache projectGenerationCache;
 
     // Constructor Injection
     public SkillSynthService(SkillSynthAppUserRepository userRepository,
                              SkillSynthSkillRepository skillRepository,
-                             SkillSynthProjectRepository projectRepository) {
+                             SkillSynthProjectRepository projectRepository,
+                             SkillVectorIndex skillVectorIndex,
+                             ApplicationEventPublisher eventPublisher,
+                             MLSyncExecutor mlSyncExecutor,
+                             MLOutbox mlOutbox,
+                             SkillResolver skillResolver,
+                             SkillCleanupService skillCleanupService,
+                             SkillCatalog skillCatalog,
+                             SkillAutocomplete skillAutocomplete,
+                             MLClient mlClient,
+                             ProjectGenerationCache projectGenerationCache) {
         this.userRepository = userRepository;
         this.skillRepository = skillRepository;
         this.projectRepository = projectRepository;
+        this.skillVectorIndex = skillVectorIndex;
+        this.eventPublisher = eventPublisher;
+        this.mlSyncExecutor = mlSyncExecutor;
+        this.mlOutbox = mlOutbox;
+        this.skillResolver = skillResolver;
+        this.skillCleanupService = skillCleanupService;
+        this.skillCatalog = skillCatalog;
+        this.skillAutocomplete = skillAutocomplete;
+        this.mlClient = mlClient;
+        this.projectGenerationCache = projectGenerationCache;
     }
 
     /* ==============================
        USER SERVICES
     ============================== */
 
+    @Transactional
     public AppUser createUser(String username, int level, List<Skill> skills) {
         AppUser user = new AppUser(username, level, skills);
 
-        // Reattach existing skills to the current persistence context
-        List<Skill> managedSkills = new ArrayList<>();
-        for (Skill skill : skills) {
-            if (skill.getId() != null) {
-                Skill managed = skillRepository.findById(skill.getId())
-                        .orElseThrow(() -> new RuntimeException("Skill not found: " + skill.getId()));
-                managedSkills.add(managed);
-            } else {
-                managedSkills.add(skillRepository.save(skill));
-            }
-        }
-        user.setAllSkills(managedSkills);
+        // Reattach existing skills (and create new ones) in a single batched lookup
+        user.setAllSkills(skillResolver.resolve(skills));
 
         AppUser savedUser = userRepository.save(user);
 
-        try {
-            Map<String, Object> mlUser = new HashMap<>();
-            mlUser.put("id", savedUser.getId().toString());
-
-            Map<String, Integer> skillsMap = new HashMap<>();
-            for (Skill skill : savedUser.getAllSkills()) {
-                skillsMap.put(skill.getName(), skill.getLevel());
-            }
-            mlUser.put("skills", skillsMap);
-
-            int timeAvailability = Math.min(20, Math.max(1, level * 2));
-            mlUser.put("time_availability", timeAvailability);
-
-            Map<String, Object> mlRequest = new HashMap<>();
-            mlRequest.put("users", List.of(mlUser));
-
-            String mlUploadUrl = mlApiBaseUrl + "/upload_users";
-            restTemplate.postForObject(mlUploadUrl, mlRequest, Map.class);
-            System.out.println(" Uploaded user to ML service: " + username);
-
-        } catch (Exception e) {
-            System.err.println(" Failed to upload user to ML service: " + e.getMessage());
-        }
+        // Delivered to /upload_users by MLOutboxRelay after commit
+        mlOutbox.enqueueUser(savedUser);
+        eventPublisher.publishEvent(UserChangedEvent.saved(savedUser));
 
         return savedUser;
     }
 
     public Optional<AppUser> getUserById(Long id) {
-        return userRepository.findById(id);
+        return userRepository.findWithSkillsById(id);
     }
 
     public Optional<AppUser> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
-    public List<AppUser> getAllUsers() {
-        return userRepository.findAll();
+    // Read models are built inside a read-only transaction so lazy skill lists are
+    // initialized here (by entity graph or batch fetch), never during serialization
+    @Transactional(readOnly = true)
+    public List<UserWithSkillsView> getAllUsers() {
+        return userRepository.findAllWithSkills().stream().map(UserWithSkillsView::from).toList();
     }
 
-    public List<AppUser> getUsersWithLevelGreaterThan(int level) {
+    public List<UserSummary> getUsersWithLevelGreaterThan(int level) {
         return userRepository.findByLevelGreaterThan(level);
     }
 
-    public List<AppUser> getUsersWithLevelLessThan(int level) {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getLevel() < level)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<UserWithSkillsView> getUsersPage(long after, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)).stream()
+                .map(UserWithSkillsView::from).toList();
     }
 
-    public List<AppUser> getUsersWithLevelEqualTo(int level) {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getLevel() == level)
-                .toList();
+    public List<UserSummary> getUsersWithLevelGreaterThanPage(int level, long after, int limit) {
+        return userRepository.findByLevelGreaterThanAndIdGreaterThanOrderByIdAsc(level, after, Limit.of(limit));
     }
 
-    public AppUser updateUser(AppUser user) {
-        AppUser updatedUser = userRepository.save(user);
+    public List<UserSummary> getUsersWithLevelLessThanPage(int level, long after, int limit) {
+        return userRepository.findByLevelLessThanAndIdGreaterThanOrderByIdAsc(level, after, Limit.of(limit));
+    }
 
-        try {
-            Map<String, Object> mlUser = new HashMap<>();
-            mlUser.put("id", updatedUser.getId().toString());
+    public List<UserSummary> getUsersWithLevelEqualToPage(int level, long after, int limit) {
+        return userRepository.findByLevelAndIdGreaterThanOrderByIdAsc(level, after, Limit.of(limit));
+    }
 
-            Map<String, Integer> skillsMap = new HashMap<>();
-            for (Skill skill : updatedUser.getAllSkills()) {
-                skillsMap.put(skill.getName(), skill.getLevel());
-            }
-            mlUser.put("skills", skillsMap);
+    // Summaries for ids answered by UserSkillIndex, in id order; ids deleted since are skipped
+    public List<UserSummary> getUserSummaries(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : userRepository.findByIdInOrderByIdAsc(ids);
+    }
 
-            int timeAvailability = Math.min(20, Math.max(1, updatedUser.getLevel() * 2));
-            mlUser.put("time_availability", timeAvailability);
+    public List<UserSummary> getUsersWithLevelLessThan(int level) {
+        return userRepository.findByLevelLessThan(level);
+    }
 
-            Map<String, Object> mlRequest = new HashMap<>();
-            mlRequest.put("users", List.of(mlUser));
+    public List<UserSummary> getUsersWithLevelEqualTo(int level) {
+        return userRepository.findByLevel(level);
+    }
 
-            restTemplate.postForObject(mlApiBaseUrl + "/upload_users", mlRequest, Map.class);
-            System.out.println(" Updated user uploaded to ML service: " + updatedUser.getUsername());
-        } catch (Exception e) {
-            System.err.println(" Failed to update user in ML service: " + e.getMessage());
-        }
+    @Transactional(readOnly = true)
+    public List<UserWithSkillsView> searchUsers(SearchCriteria criteria, long after, int limit) {
+        return userRepository.findBy(SkillSynthSpecifications.users(criteria, after),
+                query -> query.sortBy(Sort.by("id")).limit(limit).all())
+                .stream().map(UserWithSkillsView::from).toList();
+    }
 
+    @Transactional
+    public AppUser updateUser(AppUser user) {
+        AppUser updatedUser = userRepository.save(user);
+        mlOutbox.enqueueUser(updatedUser);
+        eventPublisher.publishEvent(UserChangedEvent.saved(updatedUser));
         return updatedUser;
     }
 
+    @Transactional
     public Optional<AppUser> updateUserLevel(Long id, int newLevel) {
-        return userRepository.findById(id).map(user -> {
+        return userRepository.findWithSkillsById(id).map(user -> {
             user.setLevel(newLevel);
-            return userRepository.save(user);
+            AppUser saved = userRepository.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.saved(saved));
+            return saved;
         });
     }
 
     public boolean deleteUser(Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            eventPublisher.publishEvent(UserChangedEvent.deleted(id));
             return true;
         }
         return false;
@@ -161,31 +172,25 @@ public class SkillSynthService {
        SKILL SERVICES
     ============================== */
 
+    @Transactional
     public Skill createSkill(String skillName, String category) {
         Skill skill = new Skill(skillName, category);
-        Skill savedSkill = skillRepository.save(skill);
-
-        try {
-            Map<String, List<String>> skillPayload = new HashMap<>();
-            skillPayload.put(category != null ? category : "General", List.of(skillName));
+        Skill savedSkill = saveSkill(skill);
 
-            restTemplate.postForObject(mlApiBaseUrl + "/process_and_upload_skills", skillPayload, Map.class);
-            System.out.println(" Sent skill to ML service: " + skillName + " (" + category + ")");
-        } catch (Exception e) {
-            System.err.println(" Failed to send skill to ML service: " + e.getMessage());
-        }
+        // Delivered to /process_and_upload_skills by MLOutboxRelay after commit
+        mlOutbox.enqueueSkill(savedSkill);
 
         return savedSkill;
     }
 
     public Map<String, Object> getRelevantSkills(String mainSkill, int topK) {
-        try {
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("main_skill", mainSkill);
-            requestBody.put("top_k", topK);
+        Optional<Map<String, Object>> local = skillVectorIndex.findRelevant(mainSkill, topK);
+        if (local.isPresent()) {
+            return local.get();
+        }
 
-            Map<String, Object> response =
-                    restTemplate.postForObject(mlApiBaseUrl + "/grab_relevant_skills", requestBody, Map.class);
+        try {
+            Map<String, Object> response = mlClient.grabRelevantSkills(mainSkill, topK);
 
             if (response == null || !response.containsKey("relevant_skills")) {
                 throw new RuntimeException("Invalid response from ML service for skill: " + mainSkill);
@@ -197,66 +202,56 @@ public class SkillSynthService {
         }
     }
 
-    public Optional<Skill> getSkillById(Long id) {
-        return skillRepository.findById(id);
+    // Skill reads are served from the in-memory catalog snapshot, not the database
+    public Optional<SkillView> getSkillById(Long id) {
+        return skillCatalog.findById(id);
     }
 
-    public Optional<Skill> getSkillByName(String name) {
-        return skillRepository.findByName(name);
+    public Optional<SkillView> getSkillByName(String name) {
+        return skillCatalog.findByName(name);
     }
 
-    public Optional<Skill> getSkillByDescription(String description) {
-        return skillRepository.findByCategory(description);
+    public List<Skill> resolveSkills(List<Skill> skills) {
+        return skillResolver.resolve(skills);
     }
 
-    public List<Skill> getAllSkills() {
-        return skillRepository.findAll();
+    public Optional<SkillView> getSkillByDescription(String description) {
+        return skillCatalog.findFirstByCategory(description);
     }
 
-    public List<Skill> getSkillsByKeyword(String keyword) {
-        return skillRepository.findByNameContaining(keyword);
+    public List<SkillView> getAllSkills() {
+        return skillCatalog.current().all();
     }
 
-    public Skill updateSkill(Skill skill) {
-        Skill updatedSkill = skillRepository.save(skill);
+    public List<SkillView> getSkillsPage(long after, int limit) {
+        return skillCatalog.current().page(after, limit);
+    }
 
-        try {
-            Map<String, List<String>> skillPayload = new HashMap<>();
-            skillPayload.put(
-                    updatedSkill.getCategory() != null ? updatedSkill.getCategory() : "General",
-                    List.of(updatedSkill.getName())
-            );
-
-            restTemplate.postForObject(mlApiBaseUrl + "/process_and_upload_skills", skillPayload, Map.class);
-            System.out.println(" Updated skill sent to ML service: " + updatedSkill.getName());
-        } catch (Exception e) {
-            System.err.println(" Failed to update skill in ML service: " + e.getMessage());
-        }
+    public List<SkillView> getSkillsByKeyword(String keyword, Integer limit) {
+        return skillAutocomplete.suggest(keyword, limit);
+    }
 
+    @Transactional
+    public Skill updateSkill(Skill skill) {
+        Skill updatedSkill = saveSkill(skill);
+        mlOutbox.enqueueSkill(updatedSkill);
         return updatedSkill;
     }
 
+    // Every skill write goes through here so in-memory indexes hear about it
+    private Skill saveSkill(Skill skill) {
+        if (skill.getName() == null || skill.getName().isBlank()) {
+            throw new IllegalArgumentException("Skill name cannot be null or empty");
+        }
+        Skill saved = skillRepository.save(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.saved(saved));
+        return saved;
+    }
+
     public boolean deleteSkill(Long id) {
         try {
-            if (!skillRepository.existsById(id)) return false;
-
-            Skill skill = skillRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Skill not found"));
-
-            // 🔹 Detach this skill from any projects that reference it
-            List<Project> projectsWithSkill = projectRepository.findAll().stream()
-                    .filter(p -> p.getRecommendedSkills().contains(skill))
-                    .toList();
-
-            for (Project project : projectsWithSkill) {
-                project.getRecommendedSkills().remove(skill);
-                projectRepository.save(project);
-            }
-
-            // 🔹 Now safely delete the skill
-            skillRepository.delete(skill);
-            System.out.println("✅ Deleted skill: " + skill.getName());
-            return true;
+            // 🔹 Unlinks the skill from project_skills and user_skills, then deletes it
+            return skillCleanupService.deleteSkills(List.of(id)) > 0;
         } catch (Exception e) {
             System.err.println("❌ Failed to delete skill: " + e.getMessage());
             e.printStackTrace();
@@ -264,6 +259,14 @@ public class SkillSynthService {
         }
     }
 
+    public int deleteSkills(List<Long> ids) {
+        return skillCleanupService.deleteSkills(ids);
+    }
+
+    public Optional<Skill> mergeSkills(List<Long> sourceIds, Long targetId) {
+        return skillCleanupService.mergeSkills(sourceIds, targetId);
+    }
+
 
     /* ==============================
        PROJECT SERVICES
@@ -281,27 +284,7 @@ public class SkillSynthService {
                 throw new IllegalArgumentException("Project name cannot be null or empty");
             }
 
-            List<Skill> managedSkills = new ArrayList<>();
-            if (skills != null) {
-                for (Skill s : skills) {
-                    if (s == null) {
-                        System.out.println("⚠️ Encountered null skill, skipping...");
-                        continue;
-                    }
-                    System.out.println("🔹 Handling skill: " + s.getName() + " (cat=" + s.getCategory() + ")");
-
-                    Skill managed = skillRepository.findByName(s.getName())
-                            .orElseGet(() -> {
-                                System.out.println("🆕 Creating new skill: " + s.getName());
-                                Skill newSkill = new Skill(
-                                    s.getName(),
-                                    s.getCategory() != null ? s.getCategory() : "General"
-                                );
-                                return skillRepository.save(newSkill);
-                            });
-                    managedSkills.add(managed);
-                }
-            }
+            List<Skill> managedSkills = skillResolver.resolve(skills);
 
             System.out.println("✅ Managed skills attached: " + managedSkills.size());
 
@@ -309,18 +292,11 @@ public class SkillSynthService {
             System.out.println("🧱 Saving project entity...");
             Project savedProject = projectRepository.save(project);
             System.out.println("✅ Saved project ID: " + savedProject.getId());
+            eventPublisher.publishEvent(ProjectChangedEvent.saved(savedProject));
 
-            Executors.newSingleThreadExecutor().submit(() -> {
-                try {
-                    Map<String, Object> mlRequest = new HashMap<>();
-                    mlRequest.put("main_skills", managedSkills.stream().map(Skill::getName).toList());
-                    mlRequest.put("time_availability", 10);
-                    mlRequest.put("experience_level", projectLevel);
-                    restTemplate.postForObject(mlApiBaseUrl + "/get_project", mlRequest, Map.class);
-                    System.out.println("✅ Synced project to ML: " + savedProject.getName());
-                } catch (Exception e) {
-                    System.err.println("⚠️ Failed ML sync: " + e.getMessage());
-                }
+            mlSyncExecutor.submit("createProject " + savedProject.getId(), () -> {
+                mlClient.getProject(managedSkills.stream().map(Skill::getName).toList(), 10, projectLevel);
+                System.out.println("✅ Synced project to ML: " + savedProject.getName());
             });
 
             return savedProject;
@@ -341,82 +317,117 @@ public class SkillSynthService {
                     .map(Skill::getName)
                     .collect(Collectors.toList());
 
-            Map<String, Object> mlRequest = new HashMap<>();
-            mlRequest.put("main_skills", mainSkillNames);
-            mlRequest.put("time_availability", timeAvailability);
-            mlRequest.put("experience_level", projectLevel);
+            Map<String, Object> mlResponse = generateProjectResponse(mainSkillNames, timeAvailability, projectLevel);
+            return saveAIProject(projectName, skills, projectLevel, mlResponse);
 
-            Map<String, Object> mlResponse =
-                    restTemplate.postForObject(mlApiBaseUrl + "/get_project", mlRequest, Map.class);
-
-            if (mlResponse == null || !mlResponse.containsKey("project")) {
-                throw new RuntimeException("Invalid ML API response");
-            }
+        } catch (Exception e) {
+            System.err.println(" Failed to create AI project: " + e.getMessage());
+            throw new RuntimeException("AI project creation failed: " + e.getMessage(), e);
+        }
+    }
 
-            Map<String, Object> projectData = (Map<String, Object>) mlResponse.get("project");
-            String aiProjectName = (String) projectData.getOrDefault("project_name", projectName);
-            String aiDescription = (String) projectData.getOrDefault("description", "AI-generated project description");
-            List<String> relevantSkillNames =
-                    (List<String>) projectData.getOrDefault("relevant_skills", new ArrayList<>());
-
-            List<Skill> recommendedSkills = new ArrayList<>();
-            for (String skillName : relevantSkillNames) {
-                Skill skill = skillRepository.findByName(skillName)
-                        .orElseGet(() -> skillRepository.save(new Skill(skillName, "AI-recommended skill")));
-                recommendedSkills.add(skill);
-            }
+    /** Raw /get_project response for the skills, time and level; validated to hold a "project". */
+    public Map<String, Object> generateProjectResponse(List<String> mainSkillNames, int timeAvailability, int projectLevel) {
+        // Repeat generations for the same skills, time and level are served from the cache
+        Map<String, Object> mlResponse = projectGenerationCache.getOrGenerate(
+                GenerationKey.of(mainSkillNames, timeAvailability, projectLevel),
+                () -> mlClient.getProject(mainSkillNames, timeAvailability, projectLevel));
 
-            for (Skill baseSkill : skills) {
-                if (recommendedSkills.stream().noneMatch(s -> s.getName().equalsIgnoreCase(baseSkill.getName()))) {
-                    recommendedSkills.add(baseSkill);
-                }
-            }
+        if (mlResponse == null || !mlResponse.containsKey("project")) {
+            throw new RuntimeException("Invalid ML API response");
+        }
+        return mlResponse;
+    }
 
-            Project project = new Project(
-                    aiProjectName,
-                    recommendedSkills,
-                    aiDescription,
-                    projectLevel
-            );
+    /** Saves the project described by a /get_project response, keeping the already resolved base skills. */
+    @SuppressWarnings("unchecked")
+    public Project saveAIProject(String projectName, List<Skill> skills, int projectLevel, Map<String, Object> mlResponse) {
+        Map<String, Object> projectData = (Map<String, Object>) mlResponse.get("project");
+        String aiProjectName = (String) projectData.getOrDefault("project_name", projectName);
+        String aiDescription = (String) projectData.getOrDefault("description", "AI-generated project description");
+        List<String> relevantSkillNames =
+                (List<String>) projectData.getOrDefault("relevant_skills", new ArrayList<>());
 
-            Project savedProject = projectRepository.save(project);
-            System.out.println(" Created AI project from ML service: " + savedProject.getName());
-            return savedProject;
+        List<Skill> recommendedSkills = skillResolver.resolveNames(relevantSkillNames, "AI-recommended skill");
 
-        } catch (Exception e) {
-            System.err.println(" Failed to create AI project: " + e.getMessage());
-            throw new RuntimeException("AI project creation failed: " + e.getMessage(), e);
+        for (Skill baseSkill : skills) {
+            if (recommendedSkills.stream().noneMatch(s -> s.getName().equalsIgnoreCase(baseSkill.getName()))) {
+                recommendedSkills.add(baseSkill);
+            }
         }
+
+        Project project = new Project(
+                aiProjectName,
+                recommendedSkills,
+                aiDescription,
+                projectLevel
+        );
+
+        Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.saved(savedProject));
+        System.out.println(" Created AI project from ML service: " + savedProject.getName());
+        return savedProject;
     }
 
 
     public Optional<Project> getProjectById(Long id) {
-        return projectRepository.findById(id);
+        return projectRepository.findWithSkillsById(id);
     }
 
     public Optional<Project> getProjectByName(String name) {
         return projectRepository.findByName(name);
     }
 
-    public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getAllProjects() {
+        return projectViews(projectRepository.findAllWithSkills());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsXPGreaterThan(int level) {
+        return projectViews(projectRepository.findByExperienceLevelGreaterThan(level));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsPage(long after, int limit) {
+        return projectViews(projectRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsXPGreaterThanPage(int level, long after, int limit) {
+        return projectViews(projectRepository.findByExperienceLevelGreaterThanAndIdGreaterThanOrderByIdAsc(level, after, Limit.of(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsXPLessThanPage(int level, long after, int limit) {
+        return projectViews(projectRepository.findLevelLessThanAfter(level, after, Limit.of(limit)));
     }
 
-    public List<Project> getProjectsXPGreaterThan(int level) {
-        return projectRepository.findByExperienceLevelGreaterThan(level);
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsXPEqualToPage(int level, long after, int limit) {
+        return projectViews(projectRepository.findByExperienceLevelAndIdGreaterThanOrderByIdAsc(level, after, Limit.of(limit)));
     }
 
-    public List<Project> getProjectsXPLessThan(int level) {
-        return projectRepository.findAll().stream()
-                .filter(project -> project.getExperienceLevel() < level && project.getExperienceLevel() != 0)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsXPLessThan(int level) {
+        return projectViews(projectRepository.findLevelLessThan(level));
     }
 
-    public List<Project> getProjectsXPEqualTo(int level) {
-        return projectRepository.findAll().stream()
-                .filter(project -> project.getExperienceLevel() == level)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> getProjectsXPEqualTo(int level) {
+        return projectViews(projectRepository.findByExperienceLevel(level));
     }
+
+    @Transactional(readOnly = true)
+    public List<ProjectWithSkillsView> searchProjects(SearchCriteria criteria, long after, int limit) {
+        return projectViews(projectRepository.findBy(SkillSynthSpecifications.projects(criteria, after),
+                query -> query.sortBy(Sort.by("id")).limit(limit).all()));
+    }
+
+    private static List<ProjectWithSkillsView> projectViews(List<Project> projects) {
+        return projects.stream().map(ProjectWithSkillsView::from).toList();
+    }
+
     public Project updateProject(Project project) {
         // 1️ Get the existing project
         Project existing = projectRepository.findById(project.getId())
@@ -428,33 +439,18 @@ public class SkillSynthService {
         existing.setExperienceLevel(project.getExperienceLevel());
 
         // 3️ Re-attach or create skills
-        List<Skill> managedSkills = new ArrayList<>();
-        if (project.getRecommendedSkills() != null) {
-            for (Skill s : project.getRecommendedSkills()) {
-                Skill skill = skillRepository.findByName(s.getName())
-                    .orElseGet(() -> skillRepository.save(new Skill(s.getName(), s.getCategory())));
-                managedSkills.add(skill);
-            }
-        }
-        existing.setRecommendedSkills(managedSkills);
+        existing.setRecommendedSkills(skillResolver.resolve(project.getRecommendedSkills()));
 
         // 4️ Save and return immediately
         Project updatedProject = projectRepository.save(existing);
+        eventPublisher.publishEvent(ProjectChangedEvent.saved(updatedProject));
 
         // 5️ Run ML sync in background (non-blocking)
-        Executors.newSingleThreadExecutor().submit(() -> {
-            try {
-                Map<String, Object> mlRequest = new HashMap<>();
-                List<String> skillNames = updatedProject.getRecommendedSkills()
-                    .stream().map(Skill::getName).toList();
-                mlRequest.put("main_skills", skillNames);
-                mlRequest.put("time_availability", 10);
-                mlRequest.put("experience_level", updatedProject.getExperienceLevel());
-                restTemplate.postForObject(mlApiBaseUrl + "/get_project", mlRequest, Map.class);
-                System.out.println(" Project synced to ML service in background: " + updatedProject.getName());
-            } catch (Exception e) {
-                System.err.println(" Failed to update project in ML: " + e.getMessage());
-            }
+        List<String> skillNames = updatedProject.getRecommendedSkills()
+            .stream().map(Skill::getName).toList();
+        mlSyncExecutor.submit("updateProject " + updatedProject.getId(), () -> {
+            mlClient.getProject(skillNames, 10, updatedProject.getExperienceLevel());
+            System.out.println(" Project synced to ML service in background: " + updatedProject.getName());
         });
 
         return updatedProject;
@@ -462,8 +458,8 @@ public class SkillSynthService {
 
     public Map<String, Object> generateAIProjectSafe(Map<String, Object> request) {
         try {
-            Map<String, Object> mlResponse =
-                    restTemplate.postForObject(mlApiBaseUrl + "/get_project", request, Map.class);
+            Map<String, Object> mlResponse = projectGenerationCache.getOrGenerate(
+                    GenerationKey.of(request), () -> mlClient.getProject(request));
 
             if (mlResponse == null || !mlResponse.containsKey("project")) {
                 throw new RuntimeException("ML service returned invalid data");
@@ -489,6 +485,7 @@ public class SkillSynthService {
     public boolean deleteProject(Long id) {
         if (projectRepository.existsById(id)) {
             projectRepository.deleteById(id);
+            eventPublisher.publishEvent(ProjectChangedEvent.deleted(id));
             return true;
         }
         return false;
@@ -1,11 +1,62 @@
 package com.skillsynth;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SkillSynthSkillRepository extends JpaRepository<Skill, Long> {
     Optional<Skill> findByName(String name);
-    List<Skill> findByNameContaining(String keyword);
     Optional<Skill> findByCategory(String category);
+
+    // Keyset page: rows strictly after the cursor id, in id order
+    List<Skill> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Names must already be lower-cased; used by SkillResolver to batch lookups into one query
+    @Query("SELECT s FROM Skill s WHERE s.id IN :ids OR lower(s.name) IN :names")
+    List<Skill> findByIdsOrNormalizedNames(@Param("ids") Collection<Long> ids, @Param("names") Collection<String> names);
+
+    // Join-table maintenance for SkillCleanupService: one statement each, whatever the row count
+    @Modifying
+    @Query(value = "DELETE FROM project_skills WHERE skill_id IN (:ids)", nativeQuery = true)
+    int deleteProjectLinks(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_skills WHERE skill_id IN (:ids)", nativeQuery = true)
+    int deleteUserLinks(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO project_skills (project_id, skill_id) " +
+                   "SELECT DISTINCT ps.project_id, :target FROM project_skills ps WHERE ps.skill_id IN (:sources) " +
+                   "AND NOT EXISTS (SELECT 1 FROM project_skills t WHERE t.project_id = ps.project_id AND t.skill_id = :target)",
+           nativeQuery = true)
+    int relinkProjects(@Param("sources") Collection<Long> sources, @Param("target") Long target);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_skills (user_id, skill_id) " +
+                   "SELECT DISTINCT us.user_id, :target FROM user_skills us WHERE us.skill_id IN (:sources) " +
+                   "AND NOT EXISTS (SELECT 1 FROM user_skills t WHERE t.user_id = us.user_id AND t.skill_id = :target)",
+           nativeQuery = true)
+    int relinkUsers(@Param("sources") Collection<Long> sources, @Param("target") Long target);
+
+    // Holders of the merge sources, so the in-memory indexes can be told about the relink
+    @Query(value = "SELECT DISTINCT user_id FROM user_skills WHERE skill_id IN (:ids)", nativeQuery = true)
+    List<Long> findUserIdsHolding(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT DISTINCT project_id FROM project_skills WHERE skill_id IN (:ids)", nativeQuery = true)
+    List<Long> findProjectIdsHolding(@Param("ids") Collection<Long> ids);
+
+    // Rows of (user id, level, skill id or null)
+    @Query(value = "SELECT u.id, u.level, us.skill_id FROM users u LEFT JOIN user_skills us ON us.user_id = u.id " +
+                   "WHERE u.id IN (:ids)", nativeQuery = true)
+    List<Object[]> findUserSkillRows(@Param("ids") Collection<Long> ids);
+
+    // Rows of (project id, skill id)
+    @Query(value = "SELECT project_id, skill_id FROM project_skills WHERE project_id IN (:ids)", nativeQuery = true)
+    List<Object[]> findProjectSkillRows(@Param("ids") Collection<Long> ids);
 }
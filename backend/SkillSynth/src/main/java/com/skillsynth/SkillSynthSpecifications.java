@@ -0,0 +1,84 @@
+package com.skillsynth;
+
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles SearchCriteria into one SQL statement per search. Skill conditions become correlated
+ * EXISTS subqueries on the join tables, so the database answers them from its indexes
+ * without joining (and duplicating) parent rows. Skill names and categories are compared
+ * lower-cased, which the lower(name) and lower(category) expression indexes in import.sql serve.
+ */
+public final class SkillSynthSpecifications {
+
+    private SkillSynthSpecifications() {}
+
+    public static Specification<AppUser> users(SearchCriteria criteria, long after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.greaterThan(root.get("id"), after));
+            addLevelBounds(predicates, cb, root.get("level"), criteria);
+            addSkillConditions(predicates, query, cb, root, "allSkills", criteria);
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Project> projects(SearchCriteria criteria, long after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.greaterThan(root.get("id"), after));
+            addLevelBounds(predicates, cb, root.get("experienceLevel"), criteria);
+            addSkillConditions(predicates, query, cb, root, "recommendedSkills", criteria);
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static void addLevelBounds(List<Predicate> predicates, CriteriaBuilder cb,
+                                       Path<Integer> level, SearchCriteria criteria) {
+        if (criteria.minLevel() != null) predicates.add(cb.greaterThanOrEqualTo(level, criteria.minLevel()));
+        if (criteria.maxLevel() != null) predicates.add(cb.lessThanOrEqualTo(level, criteria.maxLevel()));
+    }
+
+    private static <T> void addSkillConditions(List<Predicate> predicates, CriteriaQuery<?> query,
+                                               CriteriaBuilder cb, Root<T> root, String skillsField,
+                                               SearchCriteria criteria) {
+        for (String name : criteria.skills()) {
+            predicates.add(cb.exists(skillSubquery(query, cb, root, skillsField, (skill, conditions) -> {
+                conditions.add(cb.equal(cb.lower(skill.get("name")), name.toLowerCase(Locale.ROOT)));
+                if (criteria.minSkillLevel() != null) {
+                    conditions.add(cb.greaterThanOrEqualTo(skill.get("level"), criteria.minSkillLevel()));
+                }
+            })));
+        }
+
+        if (criteria.skills().isEmpty() && criteria.minSkillLevel() != null) {
+            predicates.add(cb.exists(skillSubquery(query, cb, root, skillsField, (skill, conditions) ->
+                    conditions.add(cb.greaterThanOrEqualTo(skill.get("level"), criteria.minSkillLevel())))));
+        }
+
+        if (criteria.category() != null) {
+            predicates.add(cb.exists(skillSubquery(query, cb, root, skillsField, (skill, conditions) ->
+                    conditions.add(cb.equal(cb.lower(skill.get("category")),
+                            criteria.category().toLowerCase(Locale.ROOT))))));
+        }
+    }
+
+    private interface SkillConditions {
+        void add(Join<?, Skill> skill, List<Predicate> conditions);
+    }
+
+    private static <T> Subquery<Long> skillSubquery(CriteriaQuery<?> query, CriteriaBuilder cb, Root<T> root,
+                                                    String skillsField, SkillConditions skillConditions) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<T> correlated = subquery.correlate(root);
+        Join<T, Skill> skill = correlated.join(skillsField);
+
+        List<Predicate> conditions = new ArrayList<>();
+        skillConditions.add(skill, conditions);
+        return subquery.select(skill.get("id")).where(conditions.toArray(Predicate[]::new));
+    }
+}
@@ -0,0 +1,186 @@
+package com.skillsynth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded HNSW index over the skill embeddings the ML service stores in Pinecone, so
+ * relevant-skill queries are answered in-process with the same vectors /grab_relevant_skills
+ * searches. Vectors are fetched in batches at startup; a skill created or renamed since then
+ * has no vector until the outbox has delivered it to the ML service, and is picked up by a
+ * periodic backfill. Until a skill's vector is loaded, findRelevant reports a miss (empty
+ * Optional) so callers fall back to the ML service.
+ */
+@Component
+public class SkillVectorIndex {
+
+    private record IndexedSkill(Long id, String name, String category, String description) {}
+
+    private final SkillSynthSkillRepository skillRepository;
+    private final SkillEmbedder embedder;
+    private final boolean enabled;
+
+    private final HnswIndex index;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedSkill> skillsById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    // Known skills whose vector is not loaded yet
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public SkillVectorIndex(SkillSynthSkillRepository skillRepository,
+                            SkillEmbedder embedder,
+                            @Value("${skills.index.enabled:true}") boolean enabled,
+                            @Value("${skills.index.m:16}") int m,
+                            @Value("${skills.index.ef-construction:100}") int efConstruction,
+                            @Value("${skills.index.ef-search:64}") int efSearch) {
+        this.skillRepository = skillRepository;
+        this.embedder = embedder;
+        this.enabled = enabled;
+        this.index = new HnswIndex(embedder.getDimensions(), m, efConstruction, efSearch, 42L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) return;
+
+        List<Skill> skills = skillRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            skillsById.clear();
+            idsByName.clear();
+            pending.clear();
+            for (Skill skill : skills) {
+                track(skill.getId(), skill.getName(), skill.getCategory());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int loaded = backfill();
+        System.out.println(" Skill vector index loaded: " + loaded + " of " + skills.size() + " skills");
+    }
+
+    /**
+     * Fetches vectors for skills that have none yet. Returns how many were added; skills
+     * still unknown to the ML service stay pending for the next run.
+     */
+    @Scheduled(fixedDelayString = "${skills.index.backfill-interval-ms:30000}")
+    public int backfill() {
+        if (!enabled || pending.isEmpty()) return 0;
+
+        List<String> names = new ArrayList<>();
+        for (Long id : pending) {
+            IndexedSkill skill = skillsById.get(id);
+            if (skill != null) names.add(skill.name());
+        }
+
+        Map<String, SkillEmbedder.Embedding> embeddings;
+        try {
+            embeddings = embedder.fetch(names);
+        } catch (MLClient.MLClientException e) {
+            System.err.println(" Skill vector backfill failed, " + pending.size() + " skill(s) pending: " + e.getMessage());
+            return 0;
+        }
+
+        int added = 0;
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, SkillEmbedder.Embedding> entry : embeddings.entrySet()) {
+                Long id = idsByName.get(SkillEmbedder.normalize(entry.getKey()));
+                IndexedSkill skill = id != null ? skillsById.get(id) : null;
+                // Skip vectors for a name the skill no longer has
+                if (skill == null || !skill.name().equals(entry.getKey()) || !pending.remove(id)) continue;
+                index.add(id, entry.getValue().vector());
+                skillsById.put(id, new IndexedSkill(id, skill.name(), skill.category(), entry.getValue().description()));
+                added++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return added;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (!enabled || event.skillId() == null) return;
+
+        lock.writeLock().lock();
+        try {
+            IndexedSkill previous = skillsById.remove(event.skillId());
+            if (previous != null) {
+                idsByName.remove(SkillEmbedder.normalize(previous.name()), previous.id());
+            }
+            if (event.deleted()) {
+                index.remove(event.skillId());
+                pending.remove(event.skillId());
+            } else if (previous != null && previous.name().equals(event.name()) && index.contains(event.skillId())) {
+                // Same name, same stored vector: only the category changed
+                skillsById.put(event.skillId(),
+                        new IndexedSkill(event.skillId(), event.name(), event.category(), previous.description()));
+                idsByName.put(SkillEmbedder.normalize(event.name()), event.skillId());
+            } else {
+                index.remove(event.skillId());
+                track(event.skillId(), event.name(), event.category());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a /grab_relevant_skills-shaped response, or empty when the skill or its vector
+     * is not indexed.
+     */
+    public Optional<Map<String, Object>> findRelevant(String mainSkill, int topK) {
+        if (!enabled || mainSkill == null) return Optional.empty();
+
+        Long id = idsByName.get(SkillEmbedder.normalize(mainSkill));
+        if (id == null) return Optional.empty();
+
+        List<HnswIndex.Neighbour> neighbours;
+        lock.readLock().lock();
+        try {
+            float[] vector = index.vector(id);
+            if (vector == null) return Optional.empty();
+            neighbours = index.search(vector, topK, id);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map<String, Object>> relevant = new ArrayList<>(neighbours.size());
+        for (HnswIndex.Neighbour neighbour : neighbours) {
+            IndexedSkill skill = skillsById.get(neighbour.key());
+            if (skill == null) continue;
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("skill", skill.name());
+            item.put("score", neighbour.score());
+            item.put("category", skill.category() != null ? skill.category() : "Unknown");
+            item.put("description", skill.description() != null ? skill.description() : "");
+            relevant.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("main_skill", mainSkill);
+        response.put("relevant_skills", relevant);
+        return Optional.of(response);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void track(Long id, String name, String category) {
+        if (id == null || name == null) return;
+        skillsById.put(id, new IndexedSkill(id, name, category, ""));
+        idsByName.put(SkillEmbedder.normalize(name), id);
+        pending.add(id);
+    }
+}
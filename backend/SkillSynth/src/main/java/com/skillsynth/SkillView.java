@@ -0,0 +1,16 @@
+package com.skillsynth;
+
+/** Read model for a skill; serializes to the same JSON as the Skill entity. */
+public record SkillView(Long id, String name, String category, int level, int xp, float progressPercentage) {
+
+    public static SkillView from(Skill skill) {
+        return new SkillView(skill.getId(), skill.getName(), skill.getCategory(),
+                skill.getLevel(), skill.getXp(), skill.getProgressPercentage());
+    }
+
+    public static SkillView from(SkillChangedEvent event) {
+        // Same formula as Skill.getProgressPercentage
+        return new SkillView(event.skillId(), event.name(), event.category(),
+                event.level(), event.xp(), (float) event.level() / 5 * 100f);
+    }
+}
@@ -0,0 +1,168 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes whole tables as a JSON array straight from a forward-only database cursor. Rows are
+ * fetched in blocks of {@code export.fetch-size} and never collected into a list, so memory
+ * use stays flat however large the table is. The JSON shape matches the entity responses.
+ */
+@Component
+public class StreamingExporter {
+
+    private static final String USERS_SQL =
+            "SELECT u.id, u.username, u.level, s.id AS skill_id, s.name AS skill_name, s.category, " +
+            "s.level AS skill_level, s.xp FROM users u " +
+            "LEFT JOIN user_skills us ON us.user_id = u.id LEFT JOIN skills s ON s.id = us.skill_id " +
+            "WHERE u.id > ? ORDER BY u.id";
+
+    private static final String SKILLS_SQL =
+            "SELECT id AS skill_id, name AS skill_name, category, level AS skill_level, xp FROM skills " +
+            "WHERE id > ? ORDER BY id";
+
+    private static final String PROJECTS_SQL =
+            "SELECT p.id, p.name, p.project_description, p.experience_level, s.id AS skill_id, " +
+            "s.name AS skill_name, s.category, s.level AS skill_level, s.xp FROM project p " +
+            "LEFT JOIN project_skills ps ON ps.project_id = p.id LEFT JOIN skills s ON s.id = ps.skill_id " +
+            "WHERE p.id > ? ORDER BY p.id";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public StreamingExporter(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:500}") int fetchSize) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL only honours the fetch size (server-side cursor) with autocommit off
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody users(long after) {
+        return out -> stream(out, json -> new GroupingWriter(json, "allSkills") {
+            @Override
+            void writeParent(ResultSet rs) throws SQLException, IOException {
+                json.writeNumberField("id", rs.getLong("id"));
+                json.writeStringField("username", rs.getString("username"));
+                json.writeNumberField("level", rs.getInt("level"));
+            }
+        }.run(cursorJdbcTemplate, USERS_SQL, after));
+    }
+
+    public StreamingResponseBody projects(long after) {
+        return out -> stream(out, json -> new GroupingWriter(json, "recommendedSkills") {
+            @Override
+            void writeParent(ResultSet rs) throws SQLException, IOException {
+                json.writeNumberField("id", rs.getLong("id"));
+                json.writeStringField("name", rs.getString("name"));
+                json.writeStringField("projectDescription", rs.getString("project_description"));
+                json.writeNumberField("experienceLevel", rs.getInt("experience_level"));
+            }
+        }.run(cursorJdbcTemplate, PROJECTS_SQL, after));
+    }
+
+    public StreamingResponseBody skills(long after) {
+        return out -> stream(out, json -> cursorJdbcTemplate.query(SKILLS_SQL, rs -> {
+            try {
+                writeSkill(json, rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, after));
+    }
+
+    private interface CursorBody {
+        void write(JsonGenerator json);
+    }
+
+    private void stream(OutputStream out, CursorBody body) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartArray();
+            readOnlyTransaction.executeWithoutResult(status -> body.write(json));
+            json.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Same fields Jackson writes for a Skill entity
+    private static void writeSkill(JsonGenerator json, ResultSet rs) throws SQLException, IOException {
+        int level = rs.getInt("skill_level");
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong("skill_id"));
+        json.writeStringField("name", rs.getString("skill_name"));
+        json.writeStringField("category", rs.getString("category"));
+        json.writeNumberField("level", level);
+        json.writeNumberField("xp", rs.getInt("xp"));
+        json.writeNumberField("progressPercentage", (float) level / 5 * 100f);
+        json.writeEndObject();
+    }
+
+    /**
+     * Folds the parent-child join back into nested objects. Rows arrive ordered by parent id,
+     * so a parent is complete as soon as the id changes.
+     */
+    private abstract static class GroupingWriter implements RowCallbackHandler {
+        private final JsonGenerator json;
+        private final String childField;
+        private Long currentId;
+
+        GroupingWriter(JsonGenerator json, String childField) {
+            this.json = json;
+            this.childField = childField;
+        }
+
+        abstract void writeParent(ResultSet rs) throws SQLException, IOException;
+
+        void run(JdbcTemplate jdbcTemplate, String sql, long after) {
+            jdbcTemplate.query(sql, this, after);
+            try {
+                if (currentId != null) closeParent();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long id = rs.getLong("id");
+                if (currentId == null || currentId != id) {
+                    if (currentId != null) closeParent();
+                    currentId = id;
+                    json.writeStartObject();
+                    writeParent(rs);
+                    json.writeArrayFieldStart(childField);
+                }
+                rs.getLong("skill_id");
+                if (!rs.wasNull()) writeSkill(json, rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void closeParent() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.skillsynth;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse skill vectors per user for teammate matching. A user's vector has one entry per skill
+ * they hold, weighted by that skill's level. Candidates are found through an inverted skill to
+ * holders map, so only users sharing at least one skill with the query are scored:
+ * {@code (1 - timeWeight) * cosine + timeWeight * timeCompatibility}. The top k are kept in a
+ * bounded min-heap. Searches may run concurrently; writes need exclusive access (see
+ * TeammateMatcher).
+ */
+class TeammateIndex {
+
+    record Match(long userId, float score) {}
+
+    private interface ScoreConsumer {
+        void accept(long userId, float score);
+    }
+
+    private record Profile(long[] skillIds, int timeAvailability) {}
+
+    // Worst first, so the heap head is the match to drop; ties go to the lower user id
+    private static final Comparator<Match> WORST_FIRST =
+            Comparator.comparingDouble(Match::score).thenComparing(Match::userId, Comparator.reverseOrder());
+
+    private final float timeWeight;
+    private final Map<Long, Profile> profiles = new HashMap<>();
+    private final Map<Long, Set<Long>> holders = new HashMap<>();
+    private final Map<Long, Float> skillWeights = new HashMap<>();
+    // Vector lengths, dropped whenever a user's skills or a skill's weight change. Filled
+    // lazily by searches, which may run concurrently under a read lock
+    private final Map<Long, Float> norms = new ConcurrentHashMap<>();
+
+    TeammateIndex(float timeWeight) {
+        this.timeWeight = timeWeight;
+    }
+
+    int size() {
+        return profiles.size();
+    }
+
+    boolean contains(long userId) {
+        return profiles.containsKey(userId);
+    }
+
+    Set<Long> userIds() {
+        return new HashSet<>(profiles.keySet());
+    }
+
+    Set<Long> holdersOf(long skillId) {
+        return new HashSet<>(holders.getOrDefault(skillId, Set.of()));
+    }
+
+    void clear() {
+        profiles.clear();
+        holders.clear();
+        skillWeights.clear();
+        norms.clear();
+    }
+
+    /** Adds or replaces a user. */
+    void put(long userId, Collection<Long> skillIds, int timeAvailability) {
+        remove(userId);
+        long[] ids = skillIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().sorted().toArray();
+        profiles.put(userId, new Profile(ids, timeAvailability));
+        for (long skillId : ids) {
+            holders.computeIfAbsent(skillId, k -> new HashSet<>()).add(userId);
+        }
+    }
+
+    boolean remove(long userId) {
+        Profile previous = profiles.remove(userId);
+        if (previous == null) return false;
+        norms.remove(userId);
+        for (long skillId : previous.skillIds()) {
+            Set<Long> users = holders.get(skillId);
+            if (users == null) continue;
+            users.remove(userId);
+            if (users.isEmpty()) holders.remove(skillId);
+        }
+        return true;
+    }
+
+    /** Sets a skill's weight (its level); skills never given one weigh 1. */
+    void setSkillWeight(long skillId, float weight) {
+        Float previous = skillWeights.put(skillId, weight);
+        if (previous != null && previous == weight) return;
+        for (long userId : holders.getOrDefault(skillId, Set.of())) {
+            norms.remove(userId);
+        }
+    }
+
+    void removeSkill(long skillId) {
+        skillWeights.remove(skillId);
+        Set<Long> users = holders.remove(skillId);
+        if (users == null) return;
+        for (long userId : users) {
+            Profile profile = profiles.get(userId);
+            long[] remaining = Arrays.stream(profile.skillIds()).filter(id -> id != skillId).toArray();
+            profiles.put(userId, new Profile(remaining, profile.timeAvailability()));
+            norms.remove(userId);
+        }
+    }
+
+    /** Teammates for an indexed user, using their own vector and time availability. */
+    List<Match> similarTo(long userId, int k) {
+        Profile profile = profiles.get(userId);
+        if (profile == null) return List.of();
+        Map<Long, Float> query = new HashMap<>();
+        for (long skillId : profile.skillIds()) {
+            query.put(skillId, weight(skillId));
+        }
+        return search(query, profile.timeAvailability(), k, userId);
+    }
+
+    /**
+     * Every candidate's score against an indexed user, keyed by candidate. Scores are
+     * symmetric, so this is also the score the user has in each candidate's own list.
+     */
+    Map<Long, Float> scoresAgainst(long userId) {
+        Profile profile = profiles.get(userId);
+        if (profile == null) return new HashMap<>();
+        Map<Long, Float> query = new HashMap<>();
+        for (long skillId : profile.skillIds()) {
+            query.put(skillId, weight(skillId));
+        }
+        Map<Long, Float> scores = new HashMap<>();
+        score(query, profile.timeAvailability(), userId, scores::put);
+        return scores;
+    }
+
+    /**
+     * Top k users for a query vector (skill id to weight), best first. {@code excludeUserId}
+     * is left out of the results, so a user never matches themselves.
+     */
+    List<Match> search(Map<Long, Float> query, int timeAvailability, int k, long excludeUserId) {
+        if (k <= 0) return List.of();
+        PriorityQueue<Match> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        score(query, timeAvailability, excludeUserId, (userId, score) -> {
+            Match match = new Match(userId, score);
+            if (heap.size() < k) {
+                heap.add(match);
+            } else if (WORST_FIRST.compare(match, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(match);
+            }
+        });
+
+        List<Match> results = new ArrayList<>(heap);
+        results.sort(WORST_FIRST.reversed());
+        return results;
+    }
+
+    // Scores every user sharing a skill with the query, except excludeUserId
+    private void score(Map<Long, Float> query, int timeAvailability, long excludeUserId, ScoreConsumer consumer) {
+        double queryNormSquared = 0;
+        for (float w : query.values()) queryNormSquared += (double) w * w;
+        if (queryNormSquared == 0) return;
+        double queryNorm = Math.sqrt(queryNormSquared);
+
+        Map<Long, Float> dots = new HashMap<>();
+        for (Map.Entry<Long, Float> entry : query.entrySet()) {
+            Set<Long> users = holders.get(entry.getKey());
+            if (users == null) continue;
+            float contribution = entry.getValue() * weight(entry.getKey());
+            for (Long userId : users) {
+                if (userId != excludeUserId) dots.merge(userId, contribution, Float::sum);
+            }
+        }
+
+        for (Map.Entry<Long, Float> entry : dots.entrySet()) {
+            long userId = entry.getKey();
+            Profile profile = profiles.get(userId);
+            double cosine = entry.getValue() / (queryNorm * norm(userId, profile));
+            consumer.accept(userId, (float) ((1 - timeWeight) * cosine
+                    + timeWeight * timeCompatibility(timeAvailability, profile.timeAvailability())));
+        }
+    }
+
+    /** 1 for equal weekly hours, falling linearly to 0 across the 1..20 range. */
+    static float timeCompatibility(int a, int b) {
+        return Math.max(0f, 1f - Math.abs(a - b) / 19f);
+    }
+
+    private float weight(long skillId) {
+        return skillWeights.getOrDefault(skillId, 1f);
+    }
+
+    private float norm(long userId, Profile profile) {
+        Float cached = norms.get(userId);
+        if (cached != null) return cached;
+        double sum = 0;
+        for (long skillId : profile.skillIds()) {
+            float w = weight(skillId);
+            sum += (double) w * w;
+        }
+        float norm = (float) Math.sqrt(sum);
+        norms.put(userId, norm);
+        return norm;
+    }
+}
@@ -0,0 +1,229 @@
+package com.skillsynth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process teammate matching over the users and user_skills tables. Loaded once at startup,
+ * then kept current from UserChangedEvent and SkillChangedEvent (skill levels are the vector
+ * weights). Answers in the ML service's /find_teammates shape and reports a miss (empty
+ * Optional) only while disabled or not yet loaded, so callers can fall back to the ML service.
+ * Change listeners are told which users' teammate lists an update may have changed, and for
+ * a user update, how that user's score against each of the others moved.
+ */
+@Component
+public class TeammateMatcher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkillCatalog skillCatalog;
+    private final boolean enabled;
+
+    private final TeammateIndex index;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /** A user's score against another before and after an update; null when not a candidate. */
+    record ScoreChange(Float before, Float after) {}
+
+    public interface ChangeListener {
+        /** These users' teammate lists may have changed. */
+        void usersChanged(Set<Long> userIds);
+
+        /**
+         * A user was added, updated or removed. Their own list changed; every other user's list
+         * changed only as far as the user's score in it moved, as given per user id.
+         */
+        void userScoresChanged(long userId, Map<Long, ScoreChange> scores);
+    }
+
+    public TeammateMatcher(JdbcTemplate jdbcTemplate,
+                           SkillCatalog skillCatalog,
+                           @Value("${teammates.local.enabled:true}") boolean enabled,
+                           @Value("${teammates.time-weight:0.2}") float timeWeight) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.skillCatalog = skillCatalog;
+        this.enabled = enabled;
+        this.index = new TeammateIndex(timeWeight);
+    }
+
+    /** Registers a callback told which users' teammates may have changed. */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) return;
+
+        Map<Long, Integer> levels = new HashMap<>();
+        jdbcTemplate.query("SELECT id, level FROM users",
+                rs -> { levels.put(rs.getLong("id"), rs.getInt("level")); });
+        Map<Long, List<Long>> skillsByUser = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, skill_id FROM user_skills",
+                rs -> { skillsByUser.computeIfAbsent(rs.getLong("user_id"), k -> new ArrayList<>()).add(rs.getLong("skill_id")); });
+
+        Set<Long> affected;
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            for (SkillView skill : skillCatalog.current().all()) {
+                index.setSkillWeight(skill.id(), skill.level());
+            }
+            levels.forEach((userId, level) ->
+                    index.put(userId, skillsByUser.getOrDefault(userId, List.of()), MLOutbox.timeAvailability(level)));
+            loaded = true;
+            affected = index.userIds();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println(" Teammate matcher loaded: " + levels.size() + " users");
+        notifyChanged(affected);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!enabled || event.userId() == null) return;
+
+        // Scores are symmetric: the user's score against a neighbour is their score in that neighbour's list
+        Map<Long, Float> before;
+        Map<Long, Float> after;
+        lock.writeLock().lock();
+        try {
+            before = index.scoresAgainst(event.userId());
+            if (event.deleted()) {
+                index.remove(event.userId());
+                after = Map.of();
+            } else {
+                index.put(event.userId(), event.skillIds(), MLOutbox.timeAvailability(event.level()));
+                after = index.scoresAgainst(event.userId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, ScoreChange> scores = new HashMap<>();
+        before.forEach((userId, score) -> scores.put(userId, new ScoreChange(score, after.get(userId))));
+        after.forEach((userId, score) -> scores.putIfAbsent(userId, new ScoreChange(null, score)));
+        for (ChangeListener listener : changeListeners) {
+            listener.userScoresChanged(event.userId(), scores);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (!enabled || event.skillId() == null) return;
+
+        // Holders' vectors change; lists that merely contain a holder catch up on their next refresh
+        Set<Long> affected;
+        lock.writeLock().lock();
+        try {
+            affected = index.holdersOf(event.skillId());
+            if (event.deleted()) {
+                index.removeSkill(event.skillId());
+            } else {
+                index.setSkillWeight(event.skillId(), event.level());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyChanged(affected);
+    }
+
+    /** Teammates for a stored user; empty when not ready or the user is unknown. */
+    public Optional<Map<String, Object>> findTeammates(Long userId, int topK) {
+        return compute(userId, topK).map(matches -> toResponse(userId.toString(), matches));
+    }
+
+    /** Scores a stored user's teammates now; empty when not ready or the user is unknown. */
+    Optional<List<TeammateIndex.Match>> compute(Long userId, int topK) {
+        if (!ready() || userId == null) return Optional.empty();
+
+        lock.readLock().lock();
+        try {
+            if (!index.contains(userId)) return Optional.empty();
+            return Optional.of(index.similarTo(userId, topK));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Teammates for a /find_teammates user payload: {@code {id, skills: {name: level},
+     * time_availability}}. Skills are matched by name; the user's own id is left out.
+     */
+    public Optional<Map<String, Object>> findTeammates(Map<String, Object> user, int topK) {
+        if (!ready() || user == null) return Optional.empty();
+
+        Object rawId = user.get("id");
+        long excluded = -1;
+        if (rawId != null) {
+            try {
+                excluded = Long.parseLong(rawId.toString());
+            } catch (NumberFormatException ignored) {
+                // Not one of ours; nothing to exclude
+            }
+        }
+
+        Map<Long, Float> query = new HashMap<>();
+        if (user.get("skills") instanceof Map<?, ?> skills) {
+            for (Map.Entry<?, ?> entry : skills.entrySet()) {
+                float level = entry.getValue() instanceof Number n ? n.floatValue() : 1f;
+                skillCatalog.findByName(String.valueOf(entry.getKey()))
+                        .ifPresent(skill -> query.put(skill.id(), level));
+            }
+        }
+        int timeAvailability = user.get("time_availability") instanceof Number n ? n.intValue() : 10;
+
+        List<TeammateIndex.Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.search(query, timeAvailability, topK, excluded);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(toResponse(rawId != null ? rawId.toString() : null, matches));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean ready() {
+        return enabled && loaded;
+    }
+
+    private void notifyChanged(Set<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        for (ChangeListener listener : changeListeners) {
+            listener.usersChanged(userIds);
+        }
+    }
+
+    static Map<String, Object> toResponse(String userId, List<TeammateIndex.Match> matches) {
+        List<Map<String, Object>> teammates = new ArrayList<>(matches.size());
+        for (TeammateIndex.Match match : matches) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("user_id", Long.toString(match.userId()));
+            item.put("match_score", match.score());
+            teammates.add(item);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("user_id", userId);
+        response.put("teammates", teammates);
+        return response;
+    }
+}
@@ -0,0 +1,206 @@
+package com.skillsynth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputed top-K teammates per user, so reads are a single map lookup instead of a fresh
+ * scoring pass. TeammateMatcher reports which users an update may have affected; only those
+ * are queued and recomputed on the scheduled worker. After a user update, another user's list
+ * is queued only when the updated user was in it, or now scores at least its K-th entry. Lists are also refreshed once older than
+ * {@code teammates.precompute.max-staleness-ms}, which bounds how stale a served list can be
+ * for changes that reach it only indirectly (another user's skill level, say). The time from a
+ * user being queued to their list being recomputed is recorded on the
+ * {@code teammates.recompute.lag} timer; MetricsConfig exposes the queue and entry ages.
+ */
+@Component
+public class TeammateRecommendations {
+
+    private record Entry(List<TeammateIndex.Match> teammates, long computedAtMillis) {}
+
+    private final TeammateMatcher teammateMatcher;
+    private final boolean enabled;
+    private final int topK;
+    private final long maxStalenessMs;
+    private final int batchSize;
+
+    private final Map<Long, Entry> table = new ConcurrentHashMap<>();
+    // Users waiting for a recompute, oldest request first, with the time it was first requested
+    private final LinkedHashMap<Long, Long> dirty = new LinkedHashMap<>();
+
+    private final AtomicLong recomputed = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Timer recomputeLag;
+
+    public TeammateRecommendations(TeammateMatcher teammateMatcher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${teammates.precompute.enabled:true}") boolean enabled,
+                                   @Value("${teammates.precompute.top-k:50}") int topK,
+                                   @Value("${teammates.precompute.max-staleness-ms:3600000}") long maxStalenessMs,
+                                   @Value("${teammates.precompute.batch-size:500}") int batchSize) {
+        this.teammateMatcher = teammateMatcher;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.maxStalenessMs = maxStalenessMs;
+        this.batchSize = batchSize;
+        this.recomputeLag = Timer.builder("teammates.recompute.lag")
+                .description("Time from a user being queued to their teammate list being recomputed")
+                .register(meterRegistry);
+        if (enabled) {
+            teammateMatcher.addChangeListener(new TeammateMatcher.ChangeListener() {
+                @Override
+                public void usersChanged(Set<Long> userIds) {
+                    markDirty(userIds);
+                }
+
+                @Override
+                public void userScoresChanged(long userId, Map<Long, TeammateMatcher.ScoreChange> scores) {
+                    markDirty(affectedBy(userId, scores));
+                }
+            });
+        }
+    }
+
+    /**
+     * Precomputed teammates in the /find_teammates shape. Users not computed yet, or asking for
+     * more than the precomputed K, are scored on the spot and queued.
+     */
+    public Optional<Map<String, Object>> findTeammates(Long userId, int requestedTopK) {
+        if (userId == null) return Optional.empty();
+        Entry entry = enabled ? table.get(userId) : null;
+        if (entry != null && requestedTopK <= topK) {
+            hits.incrementAndGet();
+            List<TeammateIndex.Match> teammates = entry.teammates();
+            return Optional.of(TeammateMatcher.toResponse(userId.toString(),
+                    teammates.subList(0, Math.min(Math.max(requestedTopK, 0), teammates.size()))));
+        }
+        misses.incrementAndGet();
+        if (enabled && entry == null) markDirty(Set.of(userId));
+        return teammateMatcher.findTeammates(userId, requestedTopK);
+    }
+
+    void markDirty(Set<Long> userIds) {
+        long now = System.currentTimeMillis();
+        synchronized (dirty) {
+            for (Long userId : userIds) {
+                dirty.putIfAbsent(userId, now);
+            }
+        }
+    }
+
+    /**
+     * The updated user, plus the users whose stored list the update reaches: the updated user
+     * was in it (their score moved or they left), or their new score ties or beats its K-th
+     * entry. Users with no stored list are computed when first asked for.
+     */
+    Set<Long> affectedBy(long userId, Map<Long, TeammateMatcher.ScoreChange> scores) {
+        Set<Long> affected = new HashSet<>();
+        affected.add(userId);
+        scores.forEach((otherId, change) -> {
+            Entry entry = table.get(otherId);
+            if (entry == null || Objects.equals(change.before(), change.after())) return;
+            List<TeammateIndex.Match> teammates = entry.teammates();
+            boolean listed = false;
+            for (TeammateIndex.Match match : teammates) {
+                if (match.userId() == userId) {
+                    listed = true;
+                    break;
+                }
+            }
+            boolean entersList = change.after() != null
+                    && (teammates.size() < topK || change.after() >= teammates.get(teammates.size() - 1).score());
+            if (listed || entersList) affected.add(otherId);
+        });
+        return affected;
+    }
+
+    @Scheduled(fixedDelayString = "${teammates.precompute.interval-ms:500}")
+    public void recomputeDirty() {
+        if (!enabled || !teammateMatcher.ready()) return;
+
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        synchronized (dirty) {
+            Iterator<Map.Entry<Long, Long>> it = dirty.entrySet().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                Map.Entry<Long, Long> next = it.next();
+                batch.put(next.getKey(), next.getValue());
+                it.remove();
+            }
+        }
+
+        for (Map.Entry<Long, Long> item : batch.entrySet()) {
+            Long userId = item.getKey();
+            long now = System.currentTimeMillis();
+            Optional<List<TeammateIndex.Match>> teammates = teammateMatcher.compute(userId, topK);
+            if (teammates.isPresent()) {
+                table.put(userId, new Entry(List.copyOf(teammates.get()), now));
+            } else {
+                // Deleted (or never indexed): nothing to recommend
+                table.remove(userId);
+            }
+            recomputeLag.record(now - item.getValue(), TimeUnit.MILLISECONDS);
+            recomputed.incrementAndGet();
+        }
+    }
+
+    // Re-queues lists past the staleness bound, so indirect changes are picked up eventually
+    @Scheduled(fixedDelayString = "${teammates.precompute.staleness-check-interval-ms:60000}")
+    public void refreshStale() {
+        if (!enabled) return;
+        long cutoff = System.currentTimeMillis() - maxStalenessMs;
+        Set<Long> stale = new HashSet<>();
+        table.forEach((userId, entry) -> {
+            if (entry.computedAtMillis() <= cutoff) stale.add(userId);
+        });
+        if (!stale.isEmpty()) markDirty(stale);
+    }
+
+    public int getPendingCount() {
+        synchronized (dirty) {
+            return dirty.size();
+        }
+    }
+
+    /** How long the longest-waiting queued user has been waiting; 0 when none are queued. */
+    public long getOldestPendingAgeMs() {
+        synchronized (dirty) {
+            return dirty.isEmpty() ? 0 : System.currentTimeMillis() - dirty.values().iterator().next();
+        }
+    }
+
+    /** Age of the oldest stored list; bounded by the staleness limit plus the queue lag. */
+    public long getOldestEntryAgeMs() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (Entry entry : table.values()) {
+            oldest = Math.max(oldest, now - entry.computedAtMillis());
+        }
+        return oldest;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("top_k", topK);
+        stats.put("entries", table.size());
+        stats.put("pending_recomputes", getPendingCount());
+        stats.put("oldest_pending_ms", getOldestPendingAgeMs());
+        stats.put("oldest_entry_age_ms", getOldestEntryAgeMs());
+        stats.put("max_staleness_ms", maxStalenessMs);
+        stats.put("recomputed", recomputed.get());
+        stats.put("recompute_lag_avg_ms", (long) recomputeLag.mean(TimeUnit.MILLISECONDS));
+        stats.put("recompute_lag_max_ms", (long) recomputeLag.max(TimeUnit.MILLISECONDS));
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+}
@@ -0,0 +1,125 @@
+package com.skillsynth;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+/**
+ * Inverted index from skill id to the users holding it, plus user level to users, kept as
+ * compressed Roaring bitmaps so boolean skill queries are bitmap intersections and unions.
+ * A skill's level belongs to the skill row here (users share skill rows), so a minimum skill
+ * level is checked once per term rather than kept as separate per-level bitmaps.
+ * Not thread-safe: callers guard it (see UserSkillIndex).
+ */
+class UserBitmapIndex {
+
+    /** Users holding the skill, if the skill's level is at least {@code minSkillLevel}. */
+    record Term(int skillId, int minSkillLevel) {}
+
+    private record UserEntry(int level, int[] skillIds) {}
+
+    private final RoaringBitmap allUsers = new RoaringBitmap();
+    private final Map<Integer, RoaringBitmap> holders = new HashMap<>();
+    private final TreeMap<Integer, RoaringBitmap> byUserLevel = new TreeMap<>();
+    private final Map<Integer, Integer> skillLevels = new HashMap<>();
+    private final Map<Integer, UserEntry> users = new HashMap<>();
+
+    int size() {
+        return users.size();
+    }
+
+    void clear() {
+        allUsers.clear();
+        holders.clear();
+        byUserLevel.clear();
+        skillLevels.clear();
+        users.clear();
+    }
+
+    /** Adds or replaces a user. */
+    void putUser(int userId, int level, int[] skillIds) {
+        removeUser(userId);
+        int[] ids = Arrays.stream(skillIds).distinct().toArray();
+        users.put(userId, new UserEntry(level, ids));
+        allUsers.add(userId);
+        byUserLevel.computeIfAbsent(level, k -> new RoaringBitmap()).add(userId);
+        for (int skillId : ids) {
+            holders.computeIfAbsent(skillId, k -> new RoaringBitmap()).add(userId);
+        }
+    }
+
+    boolean removeUser(int userId) {
+        UserEntry previous = users.remove(userId);
+        if (previous == null) return false;
+        allUsers.remove(userId);
+        removeFrom(byUserLevel, previous.level(), userId);
+        for (int skillId : previous.skillIds()) {
+            removeFrom(holders, skillId, userId);
+        }
+        return true;
+    }
+
+    void setSkillLevel(int skillId, int level) {
+        skillLevels.put(skillId, level);
+    }
+
+    void removeSkill(int skillId) {
+        skillLevels.remove(skillId);
+        RoaringBitmap holding = holders.remove(skillId);
+        if (holding == null) return;
+        for (int userId : holding) {
+            UserEntry entry = users.get(userId);
+            int[] remaining = Arrays.stream(entry.skillIds()).filter(id -> id != skillId).toArray();
+            users.put(userId, new UserEntry(entry.level(), remaining));
+        }
+    }
+
+    /**
+     * Users matching every {@code all} term, at least one {@code any} term (when given), no
+     * {@code none} term, and a user level within the inclusive bounds (null for open).
+     */
+    RoaringBitmap evaluate(List<Term> all, List<Term> any, List<Term> none, Integer minLevel, Integer maxLevel) {
+        RoaringBitmap result = levelRange(minLevel, maxLevel);
+        for (Term term : all) {
+            if (result.isEmpty()) return result;
+            result.and(holders(term));
+        }
+        if (!any.isEmpty()) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (Term term : any) {
+                union.or(holders(term));
+            }
+            result.and(union);
+        }
+        for (Term term : none) {
+            if (result.isEmpty()) return result;
+            result.andNot(holders(term));
+        }
+        return result;
+    }
+
+    // Read-only view; callers combine it into their own bitmap
+    private RoaringBitmap holders(Term term) {
+        RoaringBitmap holding = holders.get(term.skillId());
+        if (holding == null) return new RoaringBitmap();
+        if (term.minSkillLevel() > 0 && skillLevels.getOrDefault(term.skillId(), 0) < term.minSkillLevel()) {
+            return new RoaringBitmap();
+        }
+        return holding;
+    }
+
+    private RoaringBitmap levelRange(Integer minLevel, Integer maxLevel) {
+        if (minLevel == null && maxLevel == null) return allUsers.clone();
+        int from = minLevel != null ? minLevel : Integer.MIN_VALUE;
+        int to = maxLevel != null ? maxLevel : Integer.MAX_VALUE;
+        if (from > to) return new RoaringBitmap();
+        return RoaringBitmap.or(byUserLevel.subMap(from, true, to, true).values().iterator());
+    }
+
+    private static void removeFrom(Map<Integer, RoaringBitmap> bitmaps, int key, int userId) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap == null) return;
+        bitmap.remove(userId);
+        if (bitmap.isEmpty()) bitmaps.remove(key);
+    }
+}
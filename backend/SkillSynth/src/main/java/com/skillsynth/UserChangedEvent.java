@@ -0,0 +1,21 @@
+package com.skillsynth;
+
+import java.util.List;
+
+/**
+ * Published whenever a user row or its skill list is created, updated or deleted, so in-memory
+ * user structures can follow the database without polling it. Skills are carried by id; their
+ * levels travel separately on SkillChangedEvent.
+ */
+public record UserChangedEvent(Long userId, int level, List<Long> skillIds, boolean deleted) {
+
+    public static UserChangedEvent saved(AppUser user) {
+        List<Long> skillIds = user.getAllSkills() == null ? List.of()
+                : user.getAllSkills().stream().map(Skill::getId).distinct().toList();
+        return new UserChangedEvent(user.getId(), user.getLevel(), skillIds, false);
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(userId, 0, List.of(), true);
+    }
+}
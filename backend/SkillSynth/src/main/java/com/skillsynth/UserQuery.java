@@ -0,0 +1,31 @@
+package com.skillsynth;
+
+import java.util.List;
+
+/**
+ * Boolean skill query over users, answered from UserSkillIndex. A user matches when they hold
+ * every skill in {@code all}, at least one in {@code any} (if any are given) and none in
+ * {@code none}, and their level is within the inclusive {@code minLevel}/{@code maxLevel}.
+ * Every field is optional.
+ */
+public record UserQuery(List<SkillTerm> all,
+                        List<SkillTerm> any,
+                        List<SkillTerm> none,
+                        Integer minLevel,
+                        Integer maxLevel) {
+
+    /** A skill by name (case-insensitive), optionally requiring its level to be at least {@code minLevel}. */
+    public record SkillTerm(String skill, Integer minLevel) {}
+
+    public UserQuery {
+        all = clean(all);
+        any = clean(any);
+        none = clean(none);
+    }
+
+    private static List<SkillTerm> clean(List<SkillTerm> terms) {
+        return terms == null ? List.of() : terms.stream()
+                .filter(t -> t != null && t.skill() != null && !t.skill().isBlank())
+                .toList();
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillsynth;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers UserQuery from compressed bitmaps instead of loading users and walking their skill
+ * lists. Loaded once at startup from users and user_skills, then kept current from
+ * UserChangedEvent and SkillChangedEvent. Bitmaps hold 32-bit ids; users with larger ids are
+ * left out of the index.
+ */
+@Component
+public class UserSkillIndex {
+
+    /** Total matches, and the page of matching user ids after the cursor in ascending order. */
+    public record Result(long total, List<Long> userIds) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkillCatalog skillCatalog;
+
+    private final UserBitmapIndex index = new UserBitmapIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UserSkillIndex(JdbcTemplate jdbcTemplate, SkillCatalog skillCatalog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.skillCatalog = skillCatalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        Map<Long, Integer> levels = new HashMap<>();
+        jdbcTemplate.query("SELECT id, level FROM users",
+                rs -> { levels.put(rs.getLong("id"), rs.getInt("level")); });
+        Map<Long, List<Long>> skillsByUser = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, skill_id FROM user_skills",
+                rs -> { skillsByUser.computeIfAbsent(rs.getLong("user_id"), k -> new ArrayList<>()).add(rs.getLong("skill_id")); });
+
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            for (SkillView skill : skillCatalog.current().all()) {
+                if (fits(skill.id())) index.setSkillLevel(skill.id().intValue(), skill.level());
+            }
+            levels.forEach((userId, level) -> put(userId, level, skillsByUser.getOrDefault(userId, List.of())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println(" User skill index loaded: " + levels.size() + " users");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null || !fits(event.userId())) return;
+
+        lock.writeLock().lock();
+        try {
+            if (event.deleted()) {
+                index.removeUser(event.userId().intValue());
+            } else {
+                put(event.userId(), event.level(), event.skillIds());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.skillId() == null || !fits(event.skillId())) return;
+
+        lock.writeLock().lock();
+        try {
+            if (event.deleted()) {
+                index.removeSkill(event.skillId().intValue());
+            } else {
+                index.setSkillLevel(event.skillId().intValue(), event.level());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Matching user ids greater than {@code after}, at most {@code limit} of them. */
+    public Result query(UserQuery query, long after, int limit) {
+        // A required skill nobody can hold (unknown name) means no user matches
+        List<UserBitmapIndex.Term> all = terms(query.all());
+        if (all.size() < query.all().size()) return new Result(0, List.of());
+        List<UserBitmapIndex.Term> any = terms(query.any());
+        if (any.isEmpty() && !query.any().isEmpty()) return new Result(0, List.of());
+        List<UserBitmapIndex.Term> none = terms(query.none());
+
+        RoaringBitmap matches;
+        lock.readLock().lock();
+        try {
+            matches = index.evaluate(all, any, none, query.minLevel(), query.maxLevel());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> page = new ArrayList<>();
+        if (after < Integer.MAX_VALUE) {
+            PeekableIntIterator ids = matches.getIntIterator();
+            ids.advanceIfNeeded((int) Math.max(after + 1, 0));
+            while (ids.hasNext() && page.size() < limit) {
+                page.add((long) ids.next());
+            }
+        }
+        return new Result(matches.getLongCardinality(), page);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<UserBitmapIndex.Term> terms(List<UserQuery.SkillTerm> terms) {
+        List<UserBitmapIndex.Term> resolved = new ArrayList<>(terms.size());
+        for (UserQuery.SkillTerm term : terms) {
+            skillCatalog.findByName(term.skill())
+                    .filter(skill -> fits(skill.id()))
+                    .ifPresent(skill -> resolved.add(new UserBitmapIndex.Term(skill.id().intValue(),
+                            term.minLevel() != null ? term.minLevel() : 0)));
+        }
+        return resolved;
+    }
+
+    private void put(Long userId, int level, List<Long> skillIds) {
+        if (!fits(userId)) return;
+        int[] ids = skillIds.stream().filter(id -> id != null && fits(id)).mapToInt(Long::intValue).toArray();
+        index.putUser(userId.intValue(), level, ids);
+    }
+
+    private static boolean fits(Long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+}
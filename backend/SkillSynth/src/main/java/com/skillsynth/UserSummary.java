@@ -0,0 +1,7 @@
+package com.skillsynth;
+
+/**
+ * Slim user read model for the level filters. Spring Data selects these three columns
+ * directly, so no skill collection is loaded and nothing enters the persistence context.
+ */
+public record UserSummary(Long id, String username, int level) {}
@@ -0,0 +1,12 @@
+package com.skillsynth;
+
+import java.util.List;
+
+/** Read model for a user and their skills; same JSON shape as the AppUser entity. */
+public record UserWithSkillsView(Long id, String username, int level, List<SkillView> allSkills) {
+
+    public static UserWithSkillsView from(AppUser user) {
+        return new UserWithSkillsView(user.getId(), user.getUsername(), user.getLevel(),
+                user.getAllSkills().stream().map(SkillView::from).toList());
+    }
+}
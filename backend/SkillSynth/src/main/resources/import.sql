@@ -0,0 +1,8 @@
+-- Run by Hibernate right after ddl-auto=create builds the schema. One statement per line.
+-- Expression indexes cannot be declared through JPA annotations, so they live here.
+
+-- Skill names are unique regardless of case; SkillResolver and BulkImportService conflict on this index
+CREATE UNIQUE INDEX IF NOT EXISTS uq_skills_lower_name ON skills (lower(name));
+
+-- Case-insensitive skill filters in SkillSynthSpecifications compare lower(name) and lower(category)
+CREATE INDEX IF NOT EXISTS idx_skills_lower_category ON skills (lower(category));
@@ -0,0 +1,69 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteIndexTests {
+
+    private static AutocompleteIndex sampleIndex() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        index.add(1, "Java", "Programming");
+        index.add(2, "JavaScript", "Programming");
+        index.add(3, "Spring Boot", "Backend");
+        index.add(4, "Python", "Programming");
+        index.add(5, "PostgreSQL", "Databases");
+        index.add(6, "Data Visualization", "Data Science");
+        return index;
+    }
+
+    private static List<Long> ids(List<AutocompleteIndex.Match> matches) {
+        return matches.stream().map(AutocompleteIndex.Match::id).toList();
+    }
+
+    @Test
+    void testExactAndPrefixMatchesRankByTier() {
+        AutocompleteIndex index = sampleIndex();
+
+        assertEquals(List.of(1L, 2L), ids(index.search("java", 10)));
+        // Prefix hit first, then the one-typo fuzzy hit
+        assertEquals(List.of(2L, 1L), ids(index.search("javas", 10)));
+        // Word inside a multi-word name
+        assertEquals(List.of(3L), ids(index.search("boo", 10)));
+        // Name prefix ranks above a category prefix
+        assertEquals(List.of(6L, 5L), ids(index.search("data", 10)));
+    }
+
+    @Test
+    void testTyposMatchThroughEditDistance() {
+        AutocompleteIndex index = sampleIndex();
+
+        assertEquals(List.of(4L), ids(index.search("pyhton", 10)));
+        assertEquals(List.of(5L), ids(index.search("postgrse", 10)));
+        assertTrue(index.search("kotlin", 10).isEmpty());
+    }
+
+    @Test
+    void testLimitAndIncrementalUpdates() {
+        AutocompleteIndex index = sampleIndex();
+        assertEquals(1, index.search("p", 1).size());
+
+        index.remove(4);
+        assertFalse(ids(index.search("pyth", 10)).contains(4L));
+
+        // Re-adding an id replaces its old terms
+        index.add(1, "Go", "Programming");
+        assertEquals(List.of(2L), ids(index.search("java", 10)));
+        assertEquals(List.of(1L), ids(index.search("go", 10)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void testPrefixDistance() {
+        assertEquals(0, AutocompleteIndex.prefixDistance("pyt", "python", 2));
+        assertEquals(2, AutocompleteIndex.prefixDistance("pyhton", "python", 2));
+        assertEquals(3, AutocompleteIndex.prefixDistance("rust", "python", 2));
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 0.5, 1000, 2, now::get);
+    }
+
+    @Test
+    void testOpensOnFailureRateAfterMinimumCalls() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        // Below minimum calls: still closed
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testHalfOpenProbesCloseOrReopen() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(1000);
+        // Two probes allowed, the third refused
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testCancelledProbeFreesItsSlot() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onCancelled();
+        assertTrue(breaker.tryAcquire());
+    }
+}
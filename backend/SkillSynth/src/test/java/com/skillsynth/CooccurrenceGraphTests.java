@@ -0,0 +1,78 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooccurrenceGraphTests {
+
+    private static final long JAVA = 1;
+    private static final long SPRING = 2;
+    private static final long DOCKER = 3;
+    private static final long PYTHON = 4;
+
+    private static CooccurrenceGraph sampleGraph() {
+        CooccurrenceGraph graph = new CooccurrenceGraph();
+        graph.put("u1", List.of(JAVA, SPRING, DOCKER));
+        graph.put("u2", List.of(JAVA, SPRING));
+        graph.put("u3", List.of(PYTHON, DOCKER));
+        graph.put("p1", List.of(JAVA, SPRING));
+        return graph;
+    }
+
+    private static List<Long> ids(List<CooccurrenceGraph.Neighbour> neighbours) {
+        return neighbours.stream().map(CooccurrenceGraph.Neighbour::skillId).toList();
+    }
+
+    @Test
+    void testCountsAndJaccardRanking() {
+        CooccurrenceGraph graph = sampleGraph();
+
+        assertEquals(4, graph.documentCount());
+        assertEquals(3, graph.skillCount(JAVA));
+        assertEquals(3, graph.pairCount(JAVA, SPRING));
+        assertEquals(graph.pairCount(JAVA, DOCKER), graph.pairCount(DOCKER, JAVA));
+
+        List<CooccurrenceGraph.Neighbour> neighbours = graph.neighbours(JAVA, 5, CooccurrenceGraph.Scoring.JACCARD, 1);
+        assertEquals(List.of(SPRING, DOCKER), ids(neighbours));
+        assertEquals(1f, neighbours.get(0).score(), 1e-6);
+        assertEquals(0.25f, neighbours.get(1).score(), 1e-6);
+
+        assertEquals(List.of(SPRING), ids(graph.neighbours(JAVA, 1, CooccurrenceGraph.Scoring.JACCARD, 1)));
+        assertEquals(List.of(SPRING), ids(graph.neighbours(JAVA, 5, CooccurrenceGraph.Scoring.JACCARD, 2)));
+    }
+
+    @Test
+    void testNormalizedPmi() {
+        assertEquals(1f, CooccurrenceGraph.npmi(2, 2, 2, 10), 1e-6);
+        assertEquals(0f, CooccurrenceGraph.npmi(1, 2, 5, 10), 1e-6);
+        assertEquals(-1f, CooccurrenceGraph.npmi(0, 2, 5, 10));
+        assertTrue(CooccurrenceGraph.npmi(1, 5, 5, 10) < 0);
+
+        CooccurrenceGraph graph = sampleGraph();
+        List<CooccurrenceGraph.Neighbour> neighbours = graph.neighbours(DOCKER, 5, CooccurrenceGraph.Scoring.NPMI, 1);
+        // Python only ever appears next to Docker
+        assertEquals(PYTHON, neighbours.get(0).skillId());
+    }
+
+    @Test
+    void testUpdatesSubtractOldContribution() {
+        CooccurrenceGraph graph = sampleGraph();
+
+        graph.put("u1", List.of(PYTHON));
+        assertEquals(2, graph.pairCount(JAVA, SPRING));
+        assertEquals(0, graph.pairCount(JAVA, DOCKER));
+        assertEquals(List.of(SPRING), ids(graph.neighbours(JAVA, 5, CooccurrenceGraph.Scoring.JACCARD, 1)));
+
+        assertTrue(graph.remove("u3"));
+        assertFalse(graph.remove("u3"));
+        assertTrue(graph.neighbours(DOCKER, 5, CooccurrenceGraph.Scoring.JACCARD, 1).isEmpty());
+
+        graph.removeSkill(SPRING);
+        assertEquals(0, graph.skillCount(SPRING));
+        assertEquals(2, graph.skillCount(JAVA));
+        assertTrue(graph.neighbours(JAVA, 5, CooccurrenceGraph.Scoring.JACCARD, 1).isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationKeyTests {
+
+    @Test
+    void testSkillOrderCasingAndDuplicatesDoNotMatter() {
+        GenerationKey key = GenerationKey.of(List.of("Java", " docker ", "JAVA"), 10, 3);
+
+        assertEquals(GenerationKey.of(List.of("Docker", "java"), 10, 3), key);
+        assertEquals(List.of("docker", "java"), key.mainSkills());
+        assertEquals("docker,java|10|3", key.canonical());
+    }
+
+    @Test
+    void testTimeAndLevelAreDistinguished() {
+        GenerationKey key = GenerationKey.of(List.of("Java"), 10, 3);
+        assertNotEquals(GenerationKey.of(List.of("Java"), 12, 3), key);
+        assertNotEquals(GenerationKey.of(List.of("Java"), 10, 4), key);
+    }
+
+    @Test
+    void testRequestBodyGivesTheSameKey() {
+        Map<String, Object> request = Map.of(
+                "main_skills", List.of("Python", "django"),
+                "time_availability", 8,
+                "experience_level", 2);
+        assertEquals(GenerationKey.of(List.of("Django", "python"), 8, 2), GenerationKey.of(request));
+    }
+
+    @Test
+    void testUnrecognisedRequestsHaveNoKey() {
+        Map<String, Object> request = new HashMap<>(Map.of(
+                "main_skills", List.of("Python"),
+                "time_availability", 8,
+                "experience_level", 2));
+        request.put("prompt", "make it about games");
+        assertNull(GenerationKey.of(request));
+
+        assertNull(GenerationKey.of(Map.of("main_skills", "Python", "time_availability", 8, "experience_level", 2)));
+        assertNull(GenerationKey.of(Map.of("main_skills", List.of("Python"), "time_availability", 8)));
+        assertNull(GenerationKey.of((Map<String, Object>) null));
+    }
+}
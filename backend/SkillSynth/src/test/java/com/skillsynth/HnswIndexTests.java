@@ -0,0 +1,59 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTests {
+
+    private static float[] randomUnitVector(Random random, int dimensions) {
+        float[] v = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) v[i] = (float) random.nextGaussian();
+        float norm = (float) Math.sqrt(HnswIndex.dot(v, v));
+        for (int i = 0; i < dimensions; i++) v[i] /= norm;
+        return v;
+    }
+
+    @Test
+    void testSearchMatchesBruteForceTopResults() {
+        Random random = new Random(7);
+        HnswIndex index = new HnswIndex(32, 16, 100, 64, 1L);
+        Map<Long, float[]> vectors = new HashMap<>();
+        for (long key = 0; key < 2000; key++) {
+            float[] v = randomUnitVector(random, 32);
+            vectors.put(key, v);
+            index.add(key, v);
+        }
+
+        int hits = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomUnitVector(random, 32);
+            long best = vectors.entrySet().stream()
+                    .max(Comparator.comparingDouble(e -> HnswIndex.dot(query, e.getValue())))
+                    .orElseThrow().getKey();
+            List<HnswIndex.Neighbour> result = index.search(query, 10, -1);
+            assertEquals(10, result.size());
+            if (result.stream().anyMatch(n -> n.key() == best)) hits++;
+        }
+        assertTrue(hits >= 45, "recall@10 too low: " + hits + "/50");
+    }
+
+    @Test
+    void testRemovedAndExcludedKeysAreNotReturned() {
+        Random random = new Random(11);
+        HnswIndex index = new HnswIndex(16, 8, 50, 32, 1L);
+        for (long key = 0; key < 100; key++) {
+            index.add(key, randomUnitVector(random, 16));
+        }
+        float[] query = index.vector(5L);
+
+        assertTrue(index.remove(3L));
+        List<HnswIndex.Neighbour> result = index.search(query, 99, 5L);
+
+        assertEquals(98, result.size());
+        assertTrue(result.stream().noneMatch(n -> n.key() == 3L || n.key() == 5L));
+        assertFalse(index.contains(3L));
+    }
+}
@@ -0,0 +1,122 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MLUploadCoalescerTests {
+
+    private final List<List<Map<String, Object>>> userBatches = Collections.synchronizedList(new ArrayList<>());
+    private final List<Map<String, List<String>>> skillBatches = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean failUploads;
+    private MLUploadCoalescer coalescer;
+
+    // The ML calls are replaced by ones that record each batch they were sent
+    private MLUploadCoalescer coalescer(long windowMs, int maxBatch) {
+        MLService mlService = new MLService(null, null, null, null, null, 0) {
+            @Override
+            public Map<String, Object> uploadUsers(List<Map<String, Object>> users) {
+                if (failUploads) throw new IllegalStateException("ML service down");
+                userBatches.add(users);
+                return Map.of("status", "success");
+            }
+
+            @Override
+            public Map<String, Object> processAndUploadSkills(Map<String, List<String>> skills) {
+                skillBatches.add(skills);
+                return Map.of("status", "success");
+            }
+        };
+        coalescer = new MLUploadCoalescer(mlService, windowMs, maxBatch);
+        return coalescer;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (coalescer != null) coalescer.shutdown();
+    }
+
+    private static Map<String, Object> user(String id, int level) {
+        return Map.of("id", id, "skills", Map.of("Java", level), "time_availability", 10);
+    }
+
+    private static void await(CompletableFuture<?>... futures) throws Exception {
+        CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testMergesUsersByIdKeepingLatest() throws Exception {
+        MLUploadCoalescer coalescer = coalescer(60_000, 100);
+        CompletableFuture<Void> first = coalescer.uploadUser(user("1", 1));
+        CompletableFuture<Void> other = coalescer.uploadUser(user("2", 1));
+        CompletableFuture<Void> latest = coalescer.uploadUser(user("1", 4));
+        assertEquals(2, coalescer.getBufferedCount());
+
+        coalescer.flush();
+        await(first, other, latest);
+
+        // One request, one entry per user, the later upload of user 1 winning
+        assertEquals(1, userBatches.size());
+        assertEquals(List.of(user("1", 4), user("2", 1)), userBatches.get(0));
+        assertEquals(0, coalescer.getBufferedCount());
+        assertEquals(1L, coalescer.getStats().get("uploads_merged"));
+    }
+
+    @Test
+    void testMergesSkillsByNameAndGroupsByCategory() throws Exception {
+        MLUploadCoalescer coalescer = coalescer(60_000, 100);
+        CompletableFuture<Void> first = coalescer.uploadSkills(Map.of("General", List.of("Docker", "Java")));
+        CompletableFuture<Void> second = coalescer.uploadSkills(Map.of("DevOps", List.of("Docker")));
+
+        coalescer.flush();
+        await(first, second);
+
+        assertEquals(1, skillBatches.size());
+        assertEquals(Map.of("General", List.of("Java"), "DevOps", List.of("Docker")), skillBatches.get(0));
+        assertTrue(userBatches.isEmpty());
+    }
+
+    @Test
+    void testFlushesWhenWindowEnds() throws Exception {
+        MLUploadCoalescer coalescer = coalescer(50, 100);
+        CompletableFuture<Void> done = coalescer.uploadUser(user("1", 2));
+
+        await(done);
+        assertEquals(1, userBatches.size());
+    }
+
+    @Test
+    void testFlushesEarlyAtMaxBatch() throws Exception {
+        MLUploadCoalescer coalescer = coalescer(60_000, 3);
+        CompletableFuture<Void> users = coalescer.uploadUser(user("1", 1));
+        coalescer.uploadUser(user("2", 1));
+        assertEquals(2, coalescer.getBufferedCount());
+
+        // Users and skills share the cap; the third entry sends both buffers without the window
+        CompletableFuture<Void> skills = coalescer.uploadSkills(Map.of("General", List.of("Java")));
+        await(users, skills);
+        assertEquals(2, userBatches.get(0).size());
+        assertEquals(1, skillBatches.size());
+    }
+
+    @Test
+    void testFailedUploadFailsEveryWaiter() {
+        MLUploadCoalescer coalescer = coalescer(60_000, 100);
+        failUploads = true;
+        CompletableFuture<Void> first = coalescer.uploadUser(user("1", 1));
+        CompletableFuture<Void> second = coalescer.uploadUser(user("2", 1));
+
+        coalescer.flush();
+        for (CompletableFuture<Void> waiter : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(1L, coalescer.getStats().get("requests_failed"));
+    }
+}
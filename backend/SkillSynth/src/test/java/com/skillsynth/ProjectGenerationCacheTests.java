@@ -0,0 +1,149 @@
+package com.skillsynth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectGenerationCacheTests {
+
+    private final List<ProjectGenerationCacheEntry> table = new ArrayList<>();
+    private final AtomicInteger generated = new AtomicInteger();
+
+    // The project_generation_cache table, kept in a list
+    private SkillSynthGenerationCacheRepository repository() {
+        return (SkillSynthGenerationCacheRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SkillSynthGenerationCacheRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        table.add((ProjectGenerationCacheEntry) args[0]);
+                        yield args[0];
+                    }
+                    case "findByCacheKeyAndCreatedAtAfterOrderByCreatedAtDesc" -> table.stream()
+                            .filter(e -> e.getCacheKey().equals(args[0]) && e.getCreatedAt().isAfter((Instant) args[1]))
+                            .sorted(Comparator.comparing(ProjectGenerationCacheEntry::getCreatedAt).reversed())
+                            .limit(((Limit) args[2]).max())
+                            .toList();
+                    case "deleteExpired" -> {
+                        int before = table.size();
+                        table.removeIf(e -> !e.getCreatedAt().isAfter((Instant) args[0]));
+                        yield before - table.size();
+                    }
+                    case "deleteBeyond" -> 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private ProjectGenerationCache cache(long ttlSeconds, int variants, int memoryMaxEntries) {
+        return new ProjectGenerationCache(repository(), new ObjectMapper(), true, ttlSeconds, variants,
+                memoryMaxEntries, 1000);
+    }
+
+    // Each generation returns a distinct project
+    private final Supplier<Map<String, Object>> generator = () ->
+            Map.of("project", Map.of("project_name", "Project " + generated.incrementAndGet()));
+
+    private static GenerationKey key(String skill) {
+        return GenerationKey.of(List.of(skill), 10, 2);
+    }
+
+    @Test
+    void testRepeatRequestIsServedFromMemory() {
+        ProjectGenerationCache cache = cache(3600, 1, 10);
+        Map<String, Object> first = cache.getOrGenerate(key("Java"), generator);
+        Map<String, Object> second = cache.getOrGenerate(GenerationKey.of(List.of("java "), 10, 2), generator);
+
+        assertEquals(first, second);
+        assertEquals(1, generated.get());
+        assertEquals(1, table.size());
+        assertEquals(1L, cache.getStats().get("hits_memory"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedKeyLeavesMemoryButNotTheTable() {
+        ProjectGenerationCache cache = cache(3600, 1, 2);
+        cache.getOrGenerate(key("A"), generator);
+        cache.getOrGenerate(key("B"), generator);
+        cache.getOrGenerate(key("A"), generator);
+        // B is now the least recently used, and makes room for C
+        cache.getOrGenerate(key("C"), generator);
+
+        assertEquals(2, cache.getStats().get("memory_entries"));
+        assertEquals(1L, cache.getStats().get("evictions_memory"));
+
+        cache.getOrGenerate(key("B"), generator);
+        assertEquals(3, generated.get());
+        assertEquals(1L, cache.getStats().get("hits_database"));
+    }
+
+    @Test
+    void testExpiredEntriesAreGeneratedAgainAndEvicted() {
+        ProjectGenerationCache cache = cache(0, 1, 10);
+        cache.getOrGenerate(key("Java"), generator);
+        cache.getOrGenerate(key("Java"), generator);
+        assertEquals(2, generated.get());
+
+        cache.evict();
+        assertEquals(0, cache.getStats().get("memory_entries"));
+        assertTrue(table.isEmpty());
+        assertEquals(2L, cache.getStats().get("evictions_database"));
+    }
+
+    @Test
+    void testKeepsGeneratingUntilEnoughVariants() {
+        ProjectGenerationCache cache = cache(3600, 2, 10);
+        Map<String, Object> first = cache.getOrGenerate(key("Java"), generator);
+        Map<String, Object> second = cache.getOrGenerate(key("Java"), generator);
+        assertNotEquals(first, second);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(Set.of(first, second).contains(cache.getOrGenerate(key("Java"), generator)));
+        }
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    void testRepeatedGenerationsStillFillTheVariants() {
+        ProjectGenerationCache cache = cache(3600, 3, 10);
+        // An LLM at temperature 0 answers the same every time
+        Supplier<Map<String, Object>> repeating = () -> {
+            generated.incrementAndGet();
+            return Map.of("project", Map.of("project_name", "Same project"));
+        };
+        for (int i = 0; i < 6; i++) {
+            cache.getOrGenerate(key("Java"), repeating);
+        }
+        assertEquals(3, generated.get());
+        assertEquals(3L, cache.getStats().get("hits_memory"));
+    }
+
+    @Test
+    void testSharedCoalescedResponseIsStoredOnce() {
+        ProjectGenerationCache cache = cache(3600, 2, 10);
+        // Callers joined on one single-flight call all hand back the same response object
+        Map<String, Object> shared = Map.of("project", Map.of("project_name", "Shared"));
+        cache.getOrGenerate(key("Java"), () -> shared);
+        cache.getOrGenerate(key("Java"), () -> shared);
+        assertEquals(1, table.size());
+        assertEquals(1L, cache.getStats().get("stores"));
+    }
+
+    @Test
+    void testOnlyProjectResponsesWithAKeyAreCached() {
+        ProjectGenerationCache cache = cache(3600, 1, 10);
+        cache.getOrGenerate(key("Java"), () -> Map.of("error", "ML down"));
+        cache.getOrGenerate(key("Java"), generator);
+        assertEquals(1, generated.get());
+
+        cache.getOrGenerate(null, generator);
+        cache.getOrGenerate(null, generator);
+        assertEquals(3, generated.get());
+        assertEquals(1, table.size());
+    }
+}
@@ -0,0 +1,126 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectGenerationJobsTests {
+
+    private static final long INITIAL_ETA_MS = 1000;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> generated = Collections.synchronizedList(new ArrayList<>());
+    private ProjectGenerationJobs jobs;
+
+    // Generation is replaced by one that records the order jobs ran in, and holds every run
+    // until the test releases it
+    private ProjectGenerationJobs jobs(int maxConcurrent, int queueCapacity) {
+        SkillSynthService service = new SkillSynthService(null, null, null, null, event -> {},
+                null, null, null, null, null, null, null, null) {
+            @Override
+            public Project createAIProject(String projectName, List<Skill> skills, int timeAvailability, int projectLevel) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                String name = skills.get(0).getName();
+                generated.add(name);
+                if (name.equals("fail")) throw new IllegalStateException("generation failed");
+                Project project = new Project(name, new ArrayList<>(skills), "", projectLevel);
+                project.setId((long) generated.size());
+                return project;
+            }
+        };
+        jobs = new ProjectGenerationJobs(service, maxConcurrent, queueCapacity, 600, INITIAL_ETA_MS);
+        return jobs;
+    }
+
+    private static List<Skill> skills(String name) {
+        Skill skill = new Skill(name, "General");
+        skill.setId(1L);
+        return List.of(skill);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (jobs != null) jobs.shutdown();
+    }
+
+    @Test
+    void testHigherPriorityRunsFirstThenArrivalOrder() throws Exception {
+        ProjectGenerationJobs jobs = jobs(1, 10);
+        ProjectGenerationJobs.Job running = jobs.submit(skills("running"), 5, 2, 0);
+        List<ProjectGenerationJobs.Job> queued = List.of(
+                jobs.submit(skills("low"), 5, 2, 0),
+                jobs.submit(skills("high"), 5, 2, 5),
+                jobs.submit(skills("low-later"), 5, 2, 0),
+                jobs.submit(skills("high-later"), 5, 2, 5));
+
+        release.countDown();
+        running.getDone().get(5, TimeUnit.SECONDS);
+        for (ProjectGenerationJobs.Job job : queued) {
+            job.getDone().get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("running", "high", "high-later", "low", "low-later"), generated);
+    }
+
+    @Test
+    void testQueuePositionAndEta() {
+        ProjectGenerationJobs jobs = jobs(2, 10);
+        jobs.submit(skills("a"), 5, 2, 0);
+        jobs.submit(skills("b"), 5, 2, 0);
+        ProjectGenerationJobs.Job first = jobs.submit(skills("c"), 5, 2, 0);
+        ProjectGenerationJobs.Job second = jobs.submit(skills("d"), 5, 2, 0);
+        ProjectGenerationJobs.Job third = jobs.submit(skills("e"), 5, 2, 0);
+        ProjectGenerationJobs.Job urgent = jobs.submit(skills("f"), 5, 2, 9);
+
+        assertEquals(4, jobs.getQueueDepth());
+        assertEquals(0, urgent.toMap().get("queue_position"));
+        assertEquals(1, first.toMap().get("queue_position"));
+        assertEquals(3, third.toMap().get("queue_position"));
+
+        // Two workers: positions 0-1 wait one generation, 2-3 wait two
+        assertEquals(INITIAL_ETA_MS, first.toMap().get("eta_ms"));
+        assertEquals(2 * INITIAL_ETA_MS, second.toMap().get("eta_ms"));
+        assertEquals(2 * INITIAL_ETA_MS, third.toMap().get("eta_ms"));
+    }
+
+    @Test
+    void testQueueCapacity() {
+        ProjectGenerationJobs jobs = jobs(1, 1);
+        jobs.submit(skills("running"), 5, 2, 0);
+        jobs.submit(skills("queued"), 5, 2, 0);
+        assertThrows(ProjectGenerationJobs.QueueFullException.class, () -> jobs.submit(skills("rejected"), 5, 2, 0));
+        assertEquals(1L, jobs.getStats().get("rejected"));
+    }
+
+    @Test
+    void testFinishedJobsExpireAfterRetention() throws Exception {
+        ProjectGenerationJobs jobs = jobs(1, 10);
+        release.countDown();
+        ProjectGenerationJobs.Job succeeded = jobs.submit(skills("ok"), 5, 2, 0);
+        ProjectGenerationJobs.Job failed = jobs.submit(skills("fail"), 5, 2, 0);
+        succeeded.getDone().get(5, TimeUnit.SECONDS);
+        failed.getDone().get(5, TimeUnit.SECONDS);
+
+        assertEquals(ProjectGenerationJobs.Status.SUCCEEDED, succeeded.getStatus());
+        assertEquals(ProjectGenerationJobs.Status.FAILED, failed.getStatus());
+        assertNotNull(succeeded.toMap().get("finished_at"));
+        assertEquals("generation failed", failed.toMap().get("error"));
+
+        jobs.removeFinishedBefore(Instant.now().minusSeconds(60));
+        assertTrue(jobs.get(succeeded.getId()).isPresent());
+
+        jobs.removeFinishedBefore(Instant.now().plusSeconds(1));
+        assertTrue(jobs.get(succeeded.getId()).isEmpty());
+        assertTrue(jobs.get(failed.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTests {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // A call that stays in flight until the test completes the returned future
+    private CompletableFuture<String> pending(CompletableFuture<String> result) {
+        return flights.run("key", () -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+
+    @Test
+    void testConcurrentCallersShareOneCall() throws Exception {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = pending(call);
+        CompletableFuture<String> second = pending(new CompletableFuture<>());
+        assertEquals(1, calls.get());
+        assertEquals(1, flights.inFlightCount());
+
+        call.complete("project");
+        assertEquals("project", first.get());
+        assertEquals("project", second.get());
+        assertEquals(0, flights.inFlightCount());
+        assertEquals(1L, flights.getStats().get("calls_joined"));
+    }
+
+    @Test
+    void testFailureReachesEveryWaiter() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = pending(call);
+        CompletableFuture<String> second = pending(new CompletableFuture<>());
+
+        call.completeExceptionally(new IllegalStateException("ML down"));
+        for (CompletableFuture<String> waiter : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, waiter::get);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void testCompletedCallIsNotReused() throws Exception {
+        assertEquals("a", pending(CompletableFuture.completedFuture("a")).get());
+        assertEquals("b", pending(CompletableFuture.completedFuture("b")).get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testThrowingSupplierFailsTheCallAndFreesTheKey() {
+        CompletableFuture<String> failed = flights.run("key", () -> {
+            throw new IllegalArgumentException("bad request");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void testCancellingOneCallerLeavesTheOthers() throws Exception {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = pending(call);
+        CompletableFuture<String> second = pending(new CompletableFuture<>());
+
+        second.cancel(true);
+        assertFalse(call.isCancelled());
+        call.complete("project");
+        assertEquals("project", first.get());
+    }
+
+    @Test
+    void testDistinctKeysRunSeparately() {
+        flights.run("a", CompletableFuture::new);
+        flights.run("b", CompletableFuture::new);
+        assertEquals(2, flights.inFlightCount());
+        assertEquals(2L, flights.getStats().get("calls_started"));
+    }
+}
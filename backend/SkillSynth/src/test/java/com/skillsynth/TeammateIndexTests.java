@@ -0,0 +1,110 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeammateIndexTests {
+
+    private static List<Long> ids(List<TeammateIndex.Match> matches) {
+        return matches.stream().map(TeammateIndex.Match::userId).toList();
+    }
+
+    @Test
+    void testRanksBySkillOverlapAndExcludesSelf() {
+        TeammateIndex index = new TeammateIndex(0f);
+        index.put(1, List.of(10L, 11L, 12L), 10);
+        index.put(2, List.of(10L, 11L, 12L), 10);
+        index.put(3, List.of(10L, 11L), 10);
+        index.put(4, List.of(10L, 20L, 21L, 22L), 10);
+        index.put(5, List.of(30L), 10);
+
+        List<TeammateIndex.Match> matches = index.similarTo(1, 10);
+        assertEquals(List.of(2L, 3L, 4L), ids(matches));
+        assertEquals(1f, matches.get(0).score(), 1e-5);
+        // Users with no shared skill are never candidates
+        assertFalse(ids(matches).contains(5L));
+    }
+
+    @Test
+    void testBoundedTopKKeepsBestMatches() {
+        TeammateIndex index = new TeammateIndex(0f);
+        index.put(1, List.of(1L, 2L, 3L, 4L), 10);
+        index.put(2, List.of(1L), 10);
+        index.put(3, List.of(1L, 2L), 10);
+        index.put(4, List.of(1L, 2L, 3L), 10);
+        index.put(5, List.of(1L, 2L, 3L, 4L), 10);
+
+        assertEquals(List.of(5L, 4L), ids(index.similarTo(1, 2)));
+        assertTrue(index.similarTo(1, 0).isEmpty());
+    }
+
+    @Test
+    void testTimeAvailabilityBreaksSkillTies() {
+        TeammateIndex index = new TeammateIndex(0.5f);
+        index.put(1, List.of(1L, 2L), 10);
+        index.put(2, List.of(1L, 2L), 20);
+        index.put(3, List.of(1L, 2L), 10);
+
+        List<TeammateIndex.Match> matches = index.similarTo(1, 10);
+        assertEquals(List.of(3L, 2L), ids(matches));
+        assertEquals(1f, matches.get(0).score(), 1e-5);
+        assertEquals(1f, TeammateIndex.timeCompatibility(4, 4));
+        assertEquals(0f, TeammateIndex.timeCompatibility(1, 20));
+    }
+
+    @Test
+    void testUpdatesAreIncremental() {
+        TeammateIndex index = new TeammateIndex(0f);
+        index.put(1, List.of(1L, 2L), 10);
+        index.put(2, List.of(1L), 10);
+        index.put(3, List.of(2L), 10);
+
+        // Weighting skill 2 up favours the user who holds it
+        index.setSkillWeight(2, 5f);
+        assertEquals(List.of(3L, 2L), ids(index.similarTo(1, 10)));
+
+        index.put(3, List.of(9L), 10);
+        assertEquals(List.of(2L), ids(index.similarTo(1, 10)));
+
+        index.removeSkill(1);
+        assertTrue(index.similarTo(1, 10).isEmpty());
+
+        assertTrue(index.remove(2));
+        assertFalse(index.contains(2));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testAdHocQueryUsesGivenWeights() {
+        TeammateIndex index = new TeammateIndex(0f);
+        index.put(1, List.of(1L), 10);
+        index.put(2, List.of(2L), 10);
+
+        List<TeammateIndex.Match> matches = index.search(Map.of(1L, 1f, 2L, 3f), 10, 5, -1);
+        assertEquals(List.of(2L, 1L), ids(matches));
+        assertTrue(index.search(Map.of(), 10, 5, -1).isEmpty());
+    }
+
+    @Test
+    void testScoresAgainstMatchEachCandidatesOwnList() {
+        TeammateIndex index = new TeammateIndex(0.3f);
+        index.put(1, List.of(1L, 2L, 3L), 6);
+        index.put(2, List.of(1L, 2L), 10);
+        index.put(3, List.of(3L, 4L), 14);
+        index.put(4, List.of(9L), 10);
+        index.setSkillWeight(2, 4f);
+
+        Map<Long, Float> scores = index.scoresAgainst(1);
+        assertEquals(Set.of(2L, 3L), scores.keySet());
+        // User 1's score in each candidate's own list is the same number
+        for (long candidate : scores.keySet()) {
+            TeammateIndex.Match listed = index.similarTo(candidate, 10).stream()
+                    .filter(m -> m.userId() == 1L).findFirst().orElseThrow();
+            assertEquals(scores.get(candidate), listed.score(), 1e-5);
+        }
+        assertTrue(index.scoresAgainst(99).isEmpty());
+    }
+}
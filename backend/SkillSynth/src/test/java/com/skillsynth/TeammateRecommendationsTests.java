@@ -0,0 +1,112 @@
+package com.skillsynth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeammateRecommendationsTests {
+
+    private static final int TOP_K = 2;
+
+    // What the matcher would score for each user; a missing user has been deleted
+    private final Map<Long, List<TeammateIndex.Match>> scored = new HashMap<>();
+    private final List<Long> computed = new ArrayList<>();
+    private TeammateMatcher.ChangeListener listener;
+
+    private TeammateRecommendations recommendations(long maxStalenessMs) {
+        TeammateMatcher matcher = new TeammateMatcher(null, null, true, 0.2f) {
+            @Override
+            public void addChangeListener(ChangeListener changeListener) {
+                listener = changeListener;
+            }
+
+            @Override
+            public boolean ready() {
+                return true;
+            }
+
+            @Override
+            Optional<List<TeammateIndex.Match>> compute(Long userId, int topK) {
+                computed.add(userId);
+                return Optional.ofNullable(scored.get(userId));
+            }
+        };
+        TeammateRecommendations recommendations =
+                new TeammateRecommendations(matcher, new SimpleMeterRegistry(), true, TOP_K, maxStalenessMs, 100);
+
+        // User 1's list is full, with user 3 as its K-th entry
+        scored.put(1L, List.of(new TeammateIndex.Match(2, 0.9f), new TeammateIndex.Match(3, 0.5f)));
+        scored.put(2L, List.of(new TeammateIndex.Match(1, 0.9f)));
+        listener.usersChanged(Set.of(1L, 2L));
+        recommendations.recomputeDirty();
+        computed.clear();
+        return recommendations;
+    }
+
+    // Users recomputed on the next pass, in any order
+    private Set<Long> recomputedNext(TeammateRecommendations recommendations) {
+        recommendations.recomputeDirty();
+        Set<Long> users = new HashSet<>(computed);
+        computed.clear();
+        return users;
+    }
+
+    private static Map<Long, TeammateMatcher.ScoreChange> change(long otherId, Float before, Float after) {
+        return Map.of(otherId, new TeammateMatcher.ScoreChange(before, after));
+    }
+
+    @Test
+    void testListedUserWhoseScoreDropsRequeuesTheList() {
+        TeammateRecommendations recommendations = recommendations(3_600_000);
+        listener.userScoresChanged(3, change(1, 0.5f, 0.1f));
+        assertEquals(Set.of(1L, 3L), recomputedNext(recommendations));
+    }
+
+    @Test
+    void testUnlistedUserBeatingTheKthEntryRequeuesTheList() {
+        TeammateRecommendations recommendations = recommendations(3_600_000);
+        listener.userScoresChanged(4, change(1, null, 0.6f));
+        assertEquals(Set.of(1L, 4L), recomputedNext(recommendations));
+    }
+
+    @Test
+    void testUnlistedUserBelowTheKthEntryLeavesTheListAlone() {
+        TeammateRecommendations recommendations = recommendations(3_600_000);
+        listener.userScoresChanged(4, change(1, 0.2f, 0.4f));
+        assertEquals(Set.of(4L), recomputedNext(recommendations));
+    }
+
+    @Test
+    void testShortListTakesAnyNewScore() {
+        TeammateRecommendations recommendations = recommendations(3_600_000);
+        // User 2 holds fewer than K teammates, so even a low score enters it
+        listener.userScoresChanged(4, change(2, null, 0.1f));
+        assertEquals(Set.of(2L, 4L), recomputedNext(recommendations));
+    }
+
+    @Test
+    void testDeletedUserEntryIsRemovedOnRecompute() {
+        TeammateRecommendations recommendations = recommendations(3_600_000);
+        assertEquals(2, recommendations.getStats().get("entries"));
+
+        scored.remove(2L);
+        listener.userScoresChanged(2, change(1, 0.9f, null));
+        assertEquals(Set.of(1L, 2L), recomputedNext(recommendations));
+        assertEquals(1, recommendations.getStats().get("entries"));
+    }
+
+    @Test
+    void testStaleListsAreRequeued() {
+        TeammateRecommendations fresh = recommendations(3_600_000);
+        fresh.refreshStale();
+        assertEquals(0, fresh.getPendingCount());
+
+        TeammateRecommendations stale = recommendations(0);
+        stale.refreshStale();
+        assertEquals(2, stale.getPendingCount());
+        assertEquals(Set.of(1L, 2L), recomputedNext(stale));
+    }
+}
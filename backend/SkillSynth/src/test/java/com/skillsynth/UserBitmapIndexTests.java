@@ -0,0 +1,94 @@
+package com.skillsynth;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBitmapIndexTests {
+
+    private static final int DOCKER = 1;
+    private static final int KUBERNETES = 2;
+    private static final int JAVA = 3;
+
+    private static UserBitmapIndex sampleIndex() {
+        UserBitmapIndex index = new UserBitmapIndex();
+        index.setSkillLevel(DOCKER, 3);
+        index.setSkillLevel(KUBERNETES, 4);
+        index.setSkillLevel(JAVA, 1);
+        index.putUser(1, 2, new int[]{DOCKER, KUBERNETES});
+        index.putUser(2, 5, new int[]{DOCKER, KUBERNETES, JAVA});
+        index.putUser(3, 3, new int[]{DOCKER});
+        index.putUser(4, 4, new int[]{JAVA, KUBERNETES});
+        index.putUser(5, 1, new int[]{});
+        return index;
+    }
+
+    private static List<Integer> ids(RoaringBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach((int id) -> ids.add(id));
+        return ids;
+    }
+
+    private static UserBitmapIndex.Term term(int skillId) {
+        return new UserBitmapIndex.Term(skillId, 0);
+    }
+
+    @Test
+    void testAndOrNotWithLevelRange() {
+        UserBitmapIndex index = sampleIndex();
+
+        assertEquals(List.of(1, 2), ids(index.evaluate(List.of(term(DOCKER), term(KUBERNETES)),
+                List.of(), List.of(), null, null)));
+        assertEquals(List.of(1), ids(index.evaluate(List.of(term(DOCKER), term(KUBERNETES)),
+                List.of(), List.of(), 2, 4)));
+        assertEquals(List.of(1, 3, 4), ids(index.evaluate(List.of(),
+                List.of(term(DOCKER), term(JAVA)), List.of(), 1, 4)));
+        assertEquals(List.of(1, 3), ids(index.evaluate(List.of(term(DOCKER)),
+                List.of(), List.of(term(JAVA)), null, null)));
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(index.evaluate(List.of(), List.of(), List.of(), null, null)));
+        assertTrue(index.evaluate(List.of(), List.of(), List.of(), 4, 2).isEmpty());
+    }
+
+    @Test
+    void testMinimumSkillLevel() {
+        UserBitmapIndex index = sampleIndex();
+
+        assertEquals(List.of(1, 2, 3), ids(index.evaluate(List.of(new UserBitmapIndex.Term(DOCKER, 3)),
+                List.of(), List.of(), null, null)));
+        assertTrue(index.evaluate(List.of(new UserBitmapIndex.Term(JAVA, 2)),
+                List.of(), List.of(), null, null).isEmpty());
+    }
+
+    @Test
+    void testQueriesDoNotModifyTheIndex() {
+        UserBitmapIndex index = sampleIndex();
+
+        index.evaluate(List.of(term(JAVA)), List.of(), List.of(), 3, 3);
+        index.evaluate(List.of(term(DOCKER)), List.of(), List.of(term(KUBERNETES)), null, null);
+
+        assertEquals(List.of(3), ids(index.evaluate(List.of(), List.of(), List.of(), 3, 3)));
+        assertEquals(List.of(1, 2, 4), ids(index.evaluate(List.of(term(KUBERNETES)),
+                List.of(), List.of(), null, null)));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        UserBitmapIndex index = sampleIndex();
+
+        index.putUser(3, 4, new int[]{KUBERNETES});
+        assertEquals(List.of(1, 2), ids(index.evaluate(List.of(term(DOCKER)), List.of(), List.of(), 2, 5)));
+        assertEquals(List.of(3, 4), ids(index.evaluate(List.of(), List.of(), List.of(), 4, 4)));
+
+        assertTrue(index.removeUser(1));
+        assertFalse(index.removeUser(1));
+        assertEquals(List.of(2, 3, 4), ids(index.evaluate(List.of(term(KUBERNETES)),
+                List.of(), List.of(), null, null)));
+
+        index.removeSkill(KUBERNETES);
+        assertTrue(index.evaluate(List.of(term(KUBERNETES)), List.of(), List.of(), null, null).isEmpty());
+        assertEquals(4, index.size());
+    }
+}